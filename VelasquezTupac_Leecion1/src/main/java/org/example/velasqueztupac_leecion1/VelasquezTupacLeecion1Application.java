@@ -2,8 +2,10 @@ package org.example.velasqueztupac_leecion1;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
+@EnableCaching
 public class VelasquezTupacLeecion1Application {
 
     public static void main(String[] args) {
@@ -1,21 +1,43 @@
 package org.example.velasqueztupac_leecion1.controller;
 
 import jakarta.validation.Valid;
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.dto.CursorPage;
+import org.example.velasqueztupac_leecion1.dto.QueuedTicketStatus;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
 import org.example.velasqueztupac_leecion1.model.Currency;
 import org.example.velasqueztupac_leecion1.model.SupportTicket;
 import org.example.velasqueztupac_leecion1.model.TicketStatus;
 import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.example.velasqueztupac_leecion1.service.TicketArchiver;
+import org.example.velasqueztupac_leecion1.service.TicketChangeFeed;
+import org.example.velasqueztupac_leecion1.service.TicketExportFormat;
+import org.example.velasqueztupac_leecion1.service.TicketGroupCommitter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/support-tickets")
@@ -25,19 +47,114 @@ public class SupportTicketController {
     @Autowired
     private SupportTicketService service;
 
+    @Autowired
+    private TicketChangeFeed changeFeed;
+
+    @Autowired
+    private TicketGroupCommitter groupCommit;
+
+    @Autowired
+    private TicketArchiver archiver;
+
+    // ETag de listados: solo válido con una única instancia (ver notModifiedSinceLastChange)
+    @Value("${app.tickets.list-etag.enabled:true}")
+    private boolean listEtagEnabled;
+
     // ----------------------------------------------------
     // C - CREATE (Crear)
     // ----------------------------------------------------
+    // Con app.tickets.group-commit.enabled el alta pasa por la cola de group commit: responde 201
+    // tras el commit del lote, o 202 + Location si el cliente envía "Prefer: respond-async"
+    // (o si el lote no se confirmó dentro de sync-timeout-ms)
     @PostMapping
-    public ResponseEntity<SupportTicket> create(@Valid @RequestBody SupportTicket ticket) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(ticket));
+    public ResponseEntity<?> create(
+            @Valid @RequestBody SupportTicket ticket,
+            @RequestHeader(value = "Prefer", required = false) String prefer
+    ) {
+        if (!groupCommit.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(service.create(ticket));
+        }
+        CompletableFuture<SupportTicket> pending = groupCommit.submit(ticket);
+        if (prefer == null || !prefer.contains("respond-async")) {
+            Optional<SupportTicket> saved = groupCommit.await(pending);
+            if (saved.isPresent()) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(saved.get());
+            }
+        }
+        URI status = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/support-tickets/queued/{ticketNumber}")
+                .buildAndExpand(ticket.getTicketNumber())
+                .toUri();
+        return ResponseEntity.accepted().location(status).body(groupCommit.status(ticket.getTicketNumber()));
+    }
+
+    // C - CREATE (Crear) - Estado de un alta encolada (QUEUED, CREATED, INVALID o FAILED)
+    @GetMapping("/queued/{ticketNumber}")
+    public ResponseEntity<QueuedTicketStatus> queued(@PathVariable String ticketNumber) {
+        return ResponseEntity.ok(groupCommit.status(ticketNumber));
+    }
+
+    // C - CREATE (Crear) - Carga masiva
+    // Sin @Valid: cada elemento se valida por separado y los errores se reportan por índice
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResult> createBulk(@RequestBody List<SupportTicket> tickets) {
+        return ResponseEntity.ok(service.createAll(tickets));
     }
 
     // ----------------------------------------------------
     // R - READ (Leer) - Listar y Buscar
     // ----------------------------------------------------
+    // Solo tickets de la tabla activa; includeArchived=true agrega los archivados (más lento)
     @GetMapping
-    public ResponseEntity<Page<SupportTicket>> list(
+    public ResponseEntity<Page<SupportTicketView>> list(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) Currency currency,
+            @RequestParam(required = false) BigDecimal minCost,
+            @RequestParam(required = false) BigDecimal maxCost,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @PageableDefault(size = 10, sort = "createdAt") Pageable pageable,
+            WebRequest request
+    ) {
+        if (notModifiedSinceLastChange(request)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(service.getAll(q, status, currency, minCost, maxCost, from, to, includeArchived, pageable));
+    }
+
+    // R - READ (Leer) - Listar en modo cursor (keyset)
+    // Uso: ?mode=cursor&size=20&sort=createdAt,desc y luego ?mode=cursor&cursor=<nextCursor>
+    @GetMapping(params = "mode=cursor")
+    public ResponseEntity<CursorPage<SupportTicketView>> listByCursor(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) Currency currency,
+            @RequestParam(required = false) BigDecimal minCost,
+            @RequestParam(required = false) BigDecimal maxCost,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @SortDefault(sort = "createdAt") Sort sort,
+            WebRequest request
+    ) {
+        if (notModifiedSinceLastChange(request)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(service.getAllByCursor(q, status, currency, minCost, maxCost, from, to, includeArchived, sort, cursor, size));
+    }
+
+    // R - READ (Leer) - Exportar todo el resultado filtrado (mismos filtros que el listado)
+    // Uso: /export?format=ndjson|csv&status=OPEN...
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
             @RequestParam(required = false) String q,
             @RequestParam(required = false) TicketStatus status,
             @RequestParam(required = false) Currency currency,
@@ -45,15 +162,32 @@ public class SupportTicketController {
             @RequestParam(required = false) BigDecimal maxCost,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
-            @PageableDefault(size = 10, sort = "createdAt") Pageable pageable
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(defaultValue = "ndjson") String format
     ) {
-        return ResponseEntity.ok(service.getAll(q, status, currency, minCost, maxCost, from, to, pageable));
+        TicketExportFormat exportFormat = TicketExportFormat.fromParameter(format);
+        if (from != null && to != null && from.isAfter(to)) {
+            // Se valida antes de empezar a escribir: después ya no se puede cambiar el estado HTTP
+            throw new IllegalArgumentException("La fecha 'from' no puede ser posterior a la fecha 'to'");
+        }
+        StreamingResponseBody body = out -> service.export(q, status, currency, minCost, maxCost, from, to, includeArchived, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"support-tickets." + exportFormat.extension() + "\"")
+                .body(body);
     }
 
     // R - READ (Leer) - Obtener por ID
+    // ETag = versión del ticket (la misma que devuelve PATCH). La lectura sale de la caché, así que
+    // un If-None-Match vigente se responde con 304 sin consultar la base ni serializar el cuerpo.
     @GetMapping("/{id}")
-    public ResponseEntity<SupportTicket> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+    public ResponseEntity<SupportTicketView> getById(@PathVariable Long id) {
+        SupportTicketView ticket = service.getById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (ticket.version() != null) {
+            response.eTag(String.valueOf(ticket.version()));
+        }
+        return response.body(ticket);
     }
 
     // ----------------------------------------------------
@@ -64,6 +198,20 @@ public class SupportTicketController {
         return ResponseEntity.ok(service.update(id, ticket));
     }
 
+    // U - UPDATE (Actualizar) - Parcial: {"version": 3, "status": "RESOLVED"}
+    // 204 con la nueva versión en el ETag; 409 si la versión enviada ya no es la actual
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable Long id, @Valid @RequestBody SupportTicketPatch patch) {
+        long version = service.patch(id, patch);
+        return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+    }
+
+    // U - UPDATE (Actualizar) - Actualización masiva (cada elemento con su 'id')
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResult> updateBulk(@RequestBody List<SupportTicket> tickets) {
+        return ResponseEntity.ok(service.updateAll(tickets));
+    }
+
     // ----------------------------------------------------
     // D - DELETE (Eliminar)
     // ----------------------------------------------------
@@ -72,4 +220,29 @@ public class SupportTicketController {
     public void delete(@PathVariable Long id) {
         service.delete(id);
     }
+
+    // ----------------------------------------------------
+    // GET condicional de los listados
+    // ----------------------------------------------------
+    // ETag = última secuencia del feed de cambios: crece con cada escritura confirmada en esta
+    // instancia, así que mientras no cambie ningún ticket ningún listado puede haber cambiado.
+    // Se lee antes de consultar: un cambio concurrente deja un ETag viejo, nunca uno adelantado.
+    // El archivado no pasa por el feed (no cambia los tickets) pero sí los listados: su generación
+    // también va en el ETag.
+    // Es débil (W/): Tomcat no comprime respuestas con ETag fuerte, y el JSON comprimido o no es equivalente.
+    // Si coincide, checkNotModified ya escribió el 304 y el controlador devuelve null.
+    // LIMITACIÓN: el feed y la generación del archivado viven en memoria de esta instancia. Con varias
+    // instancias tras un balanceador, una escritura en otra no cambia este ETag y el listado quedaría
+    // respondiendo 304 con datos viejos (además los valores de cada instancia no se corresponden).
+    // En ese despliegue hay que apagarlo (app.tickets.list-etag.enabled=false): los listados vuelven a
+    // responder siempre 200, sin ETag. El ETag de GET /{id} es la versión de la fila y no tiene este problema.
+    // Con réplicas, mientras esté activo los listados se leen del primario (ListReadsOnPrimaryInterceptor):
+    // el feed es del primario y una réplica atrasada daría filas viejas con el ETag más nuevo.
+    private boolean notModifiedSinceLastChange(WebRequest request) {
+        if (!listEtagEnabled) {
+            return false;
+        }
+        return request.checkNotModified("W/\"r" + changeFeed.latest() + "." + archiver.generation() + "\"",
+                Math.max(changeFeed.lastModified(), archiver.lastArchived()));
+    }
 }
\ No newline at end of file
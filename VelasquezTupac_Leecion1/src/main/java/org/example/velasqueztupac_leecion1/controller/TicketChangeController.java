@@ -0,0 +1,45 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import org.example.velasqueztupac_leecion1.dto.TicketChangeDelta;
+import org.example.velasqueztupac_leecion1.service.TicketChangeBroadcaster;
+import org.example.velasqueztupac_leecion1.service.TicketChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Sincronización incremental: el cliente carga la lista una vez y luego aplica cambios.
+// 1. GET /changes              -> { latest }  (guardar antes de pedir la lista)
+// 2. GET /api/v1/support-tickets ...
+// 3. GET /changes?since=latest  (o SSE /changes/stream?since=latest)
+// Requiere una sola instancia (el feed vive en memoria) y que la lista del paso 2 salga del primario:
+// con réplicas eso se cumple mientras app.tickets.list-etag.enabled=true. Una réplica atrasada
+// devolvería una lista sin cambios anteriores a 'latest', que el paso 3 ya no reenvía.
+@RestController
+@RequestMapping("/api/v1/support-tickets/changes")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class TicketChangeController {
+
+    @Autowired
+    private TicketChangeFeed feed;
+
+    @Autowired
+    private TicketChangeBroadcaster broadcaster;
+
+    // Delta: cambios posteriores a 'since'. Sin 'since' solo informa la secuencia actual.
+    @GetMapping
+    public ResponseEntity<TicketChangeDelta> changes(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(since != null ? feed.since(since) : feed.since(feed.latest()));
+    }
+
+    // Server-Sent Events. Al reconectar, EventSource envía Last-Event-ID y se reanuda desde ahí:
+    // tiene prioridad sobre 'since', que sigue en la URL original y ya quedó atrás.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return broadcaster.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import org.example.velasqueztupac_leecion1.dto.ImportReport;
+import org.example.velasqueztupac_leecion1.service.TicketExportFormat;
+import org.example.velasqueztupac_leecion1.service.TicketImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/support-tickets/import")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class TicketImportController {
+
+    @Autowired
+    private TicketImportService importService;
+
+    // ----------------------------------------------------
+    // Importar el cuerpo de la petición (streaming, síncrono)
+    // Uso: POST /import?format=csv --data-binary @tickets.csv
+    // ----------------------------------------------------
+    @PostMapping
+    public ResponseEntity<ImportReport> importBody(
+            InputStream body,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "0") long skip
+    ) {
+        return ResponseEntity.ok(importService.importStream(body, TicketExportFormat.fromParameter(format), skip));
+    }
+
+    // ----------------------------------------------------
+    // Importar un archivo local (en segundo plano)
+    // ----------------------------------------------------
+    @PostMapping("/file")
+    public ResponseEntity<ImportReport> importFile(
+            @RequestParam String path,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        return accepted(importService.startFileImport(path, TicketExportFormat.fromParameter(format)));
+    }
+
+    // Reanuda desde el último bloque confirmado
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ImportReport> resume(@PathVariable String jobId) {
+        return accepted(importService.resume(jobId));
+    }
+
+    // Progreso / resumen final
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportReport> report(@PathVariable String jobId) {
+        return ResponseEntity.ok(importService.getReport(jobId));
+    }
+
+    private ResponseEntity<ImportReport> accepted(ImportReport report) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/support-tickets/import/{jobId}")
+                .buildAndExpand(report.jobId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(report);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import org.example.velasqueztupac_leecion1.dto.TicketDeadlines;
+import org.example.velasqueztupac_leecion1.service.TicketDeadlineIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Seguimiento de SLA sobre dueDate, servido desde el índice en memoria (TicketDeadlineIndex).
+// Solo tickets OPEN / IN_PROGRESS; un ticket vence al terminar el día de su dueDate.
+@RestController
+@RequestMapping("/api/v1/support-tickets")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class TicketSlaController {
+
+    @Autowired
+    private TicketDeadlineIndex deadlines;
+
+    // Uso: /overdue?limit=100
+    @GetMapping("/overdue")
+    public ResponseEntity<TicketDeadlines> overdue(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(deadlines.overdue(limit));
+    }
+
+    // Uso: /due-within?hours=24&limit=100
+    @GetMapping("/due-within")
+    public ResponseEntity<TicketDeadlines> dueWithin(
+            @RequestParam int hours,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(deadlines.dueWithin(hours, limit));
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import org.example.velasqueztupac_leecion1.dto.TicketStats;
+import org.example.velasqueztupac_leecion1.service.TicketStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+// Tablero: conteos por estado x prioridad y costos por moneda + categoría, desde contadores
+// en memoria (ver TicketStatistics). Uso: /stats o /stats?from=2025-01-01&to=2025-01-31
+@RestController
+@RequestMapping("/api/v1/support-tickets/stats")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class TicketStatsController {
+
+    @Autowired
+    private TicketStatistics statistics;
+
+    @GetMapping
+    public ResponseEntity<TicketStats> stats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(statistics.stats(from, to));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Admisión de peticiones según la capacidad de los pools (ver ConnectionAdmissionInterceptor).
+// Activa por defecto junto con los hilos virtuales (spring.threads.virtual.enabled, Java 21+):
+// con hilos de plataforma el tamaño del pool de Tomcat ya limita la concurrencia.
+@Configuration
+public class ConnectionAdmissionConfig implements WebMvcConfigurer {
+
+    private final DataSourcePools pools;
+    private final ObjectProvider<MeterRegistry> registry;
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+
+    public ConnectionAdmissionConfig(DataSourcePools pools, ObjectProvider<MeterRegistry> registry,
+                                     @Value("${app.tickets.admission.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                                     @Value("${app.tickets.admission.max-concurrent:0}") int maxConcurrent,
+                                     @Value("${app.tickets.admission.max-wait-ms:2000}") long maxWaitMillis) {
+        this.pools = pools;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        if (enabled) {
+            // 0 = una petición por conexión disponible entre el primario y las réplicas
+            int permits = maxConcurrent > 0 ? maxConcurrent : pools.maximumPoolSize();
+            interceptors.addInterceptor(new ConnectionAdmissionInterceptor(permits, maxWaitMillis, registry.getObject()));
+        }
+    }
+}
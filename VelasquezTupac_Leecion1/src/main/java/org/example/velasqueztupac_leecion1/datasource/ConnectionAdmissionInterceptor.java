@@ -0,0 +1,101 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.velasqueztupac_leecion1.controller.SupportTicketController;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Control de admisión delante de los pools de conexiones.
+ * <p>
+ * Con hilos virtuales el límite de 200 hilos de Tomcat desaparece: miles de peticiones pueden
+ * llegar a la vez y todas quedarían esperando conexión en HikariCP (connectionTimeout 30 s),
+ * reteniendo memoria y agotando la paciencia del cliente. Aquí solo max-concurrent peticiones de
+ * {@link SupportTicketController} avanzan; las demás esperan en orden de llegada (semáforo justo)
+ * hasta max-wait-ms y después reciben 503 con Retry-After, sin haber tocado la base de datos.
+ * <p>
+ * Las exportaciones liberan el permiso al pasar a modo asíncrono: su escritura puede durar
+ * minutos y la acota el propio pool. El despacho asíncrono que las cierra no pide otro: la
+ * respuesta ya está confirmada y un 503 ahí solo la cortaría tras esperar max-wait-ms.
+ */
+class ConnectionAdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = ConnectionAdmissionInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final Timer waits;
+    private final Counter rejected;
+
+    ConnectionAdmissionInterceptor(int maxConcurrent, long maxWaitMillis, MeterRegistry registry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.waits = Timer.builder("tickets.admission.wait")
+                .description("Espera de las peticiones hasta ser admitidas")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("tickets.admission.rejected")
+                .description("Peticiones rechazadas con 503 tras esperar max-wait-ms")
+                .register(registry);
+        Gauge.builder("tickets.admission.in.flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Peticiones admitidas en curso")
+                .register(registry);
+        Gauge.builder("tickets.admission.queued", permits, Semaphore::getQueueLength)
+                .description("Peticiones esperando admisión")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || method.getBeanType() != SupportTicketController.class
+                || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!admitted) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Servidor saturado, reintente en unos segundos");
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    // Cada despacho libera solo lo que tomó: el asíncrono no toma nada
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT) != null) {
+            request.removeAttribute(PERMIT);
+            permits.release();
+        }
+    }
+}
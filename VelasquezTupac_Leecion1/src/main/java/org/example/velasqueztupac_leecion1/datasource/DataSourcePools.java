@@ -0,0 +1,213 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pools de conexiones: el primario y cero o más réplicas de solo lectura.
+ * <p>
+ * {@link #readOnlyDataSource()} entrega conexiones de la réplica sana con menos conexiones
+ * activas (round-robin entre empatadas). Usa el primario si no hay réplicas sanas, si la
+ * petición lo exige ({@link ReadRouting}) o si la réplica falla al entregar la conexión
+ * (queda marcada como caída): una réplica caída nunca hace fallar una lectura.
+ * <p>
+ * Cada health-check-ms se valida cada réplica (Connection.isValid); una caída vuelve a recibir
+ * lecturas cuando responde. Métricas por pool: hikaricp.connections.* (Hikari) y
+ * tickets.db.pool.utilization, tickets.db.readonly.connections, tickets.db.replica.up.
+ * <p>
+ * Los pools no son beans DataSource a propósito: el proxy de MetricsConfig envuelve cada
+ * DataSource del contexto y las sentencias se contarían dos veces.
+ */
+public class DataSourcePools implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePools.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Counter primaryReads;
+    private final AtomicInteger next = new AtomicInteger();
+    private final DataSource readOnlyDataSource = new ReadOnlyDataSource();
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    DataSourcePools(HikariDataSource primary, List<HikariDataSource> replicas, MeterRegistry registry) {
+        this.primary = primary;
+        this.primaryReads = bindMetrics(primary, registry);
+        this.replicas = replicas.stream().map(pool -> new Replica(pool, registry)).toList();
+        for (Replica replica : this.replicas) {
+            Gauge.builder("tickets.db.replica.up", replica, r -> r.up ? 1 : 0)
+                    .description("1 si la réplica recibe lecturas, 0 si está caída")
+                    .tag("pool", replica.name())
+                    .register(registry);
+        }
+    }
+
+    // Antes de recibir peticiones: una réplica inalcanzable empieza marcada como caída
+    void start(long healthCheckMillis) {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        checkHealth();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, healthCheckMillis, healthCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    public DataSource readOnlyDataSource() {
+        return readOnlyDataSource;
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    // Conexiones que pueden estar en uso a la vez entre todos los pools
+    public int maximumPoolSize() {
+        return primary.getMaximumPoolSize() + replicas.stream().mapToInt(replica -> replica.pool.getMaximumPoolSize()).sum();
+    }
+
+    // Nombre del pool -> UP / DOWN (último estado conocido)
+    public Map<String, String> replicaStatus() {
+        Map<String, String> status = new LinkedHashMap<>();
+        replicas.forEach(replica -> status.put(replica.name(), replica.up ? "UP" : "DOWN"));
+        return status;
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean valid;
+            try (Connection connection = replica.pool.getConnection()) {
+                valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException ex) {
+                valid = false;
+            }
+            replica.mark(valid, null);
+        }
+    }
+
+    // Lo mismo que un fallo al pedir conexión (pruebas y operación manual)
+    void markDown(String pool) {
+        replicas.stream().filter(replica -> replica.name().equals(pool)).forEach(replica -> replica.mark(false, null));
+    }
+
+    // Réplica sana con menos conexiones activas; el punto de partida rota para repartir los empates
+    private Replica select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            int active = replica.up ? activeConnections(replica.pool) : Integer.MAX_VALUE;
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    // hikaricp.connections.* con la etiqueta pool; debe registrarse antes de la primera conexión
+    private static Counter bindMetrics(HikariDataSource pool, MeterRegistry registry) {
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        Gauge.builder("tickets.db.pool.utilization", pool, DataSourcePools::utilization)
+                .description("Conexiones en uso / tamaño máximo del pool")
+                .tag("pool", pool.getPoolName())
+                .register(registry);
+        return Counter.builder("tickets.db.readonly.connections")
+                .description("Conexiones de transacciones readOnly entregadas por cada pool")
+                .tag("pool", pool.getPoolName())
+                .register(registry);
+    }
+
+    private static double utilization(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null ? 0 : (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+    private static int activeConnections(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null ? 0 : mxBean.getActiveConnections();
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private final Counter reads;
+        private volatile boolean up = true;
+
+        private Replica(HikariDataSource pool, MeterRegistry registry) {
+            this.pool = pool;
+            this.reads = bindMetrics(pool, registry);
+        }
+
+        private String name() {
+            return pool.getPoolName();
+        }
+
+        private void mark(boolean valid, Exception cause) {
+            if (up && !valid) {
+                log.warn("Réplica {} fuera de servicio: las lecturas van a las demás o al primario", name(), cause);
+            } else if (!up && valid) {
+                log.info("Réplica {} disponible de nuevo", name());
+            }
+            up = valid;
+        }
+    }
+
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!ReadRouting.isPrimaryRequired()) {
+                for (Replica replica = select(); replica != null; replica = select()) {
+                    try {
+                        Connection connection = replica.pool.getConnection();
+                        replica.reads.increment();
+                        return connection;
+                    } catch (SQLException | RuntimeException ex) {
+                        replica.mark(false, ex);
+                    }
+                }
+            }
+            primaryReads.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLException("Las credenciales de las réplicas se fijan en app.datasource.replica.*");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Enrutamiento lectura/escritura: las transacciones readOnly (exportación) van a las
+// réplicas y todo lo demás al primario, también GET /{id}: lo que lee se guarda en la caché.
+// Los listados van al primario mientras tengan ETag (app.tickets.list-etag.enabled): ver
+// ListReadsOnPrimaryInterceptor. Sin ETag (varias instancias) leen de las réplicas.
+// Sin app.datasource.replica.urls hay un solo pool, el primario, y todo se comporta como antes.
+@Configuration
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    private final List<String> replicaUrls;
+    private final int stickySeconds;
+    private final boolean listEtagEnabled;
+
+    public DataSourceRoutingConfig(@Value("${app.datasource.replica.urls:}") List<String> replicaUrls,
+                                   @Value("${app.datasource.replica.sticky-seconds:5}") int stickySeconds,
+                                   @Value("${app.tickets.list-etag.enabled:true}") boolean listEtagEnabled) {
+        this.replicaUrls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        this.stickySeconds = stickySeconds;
+        this.listEtagEnabled = listEtagEnabled;
+    }
+
+    @Bean(destroyMethod = "close")
+    DataSourcePools dataSourcePools(DataSourceProperties properties, Environment environment, ObjectProvider<MeterRegistry> registry,
+                                    @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                    @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+                                    @Value("${app.datasource.replica.health-check-ms:5000}") long healthCheckMillis) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(primary, "primary", environment);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url)
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            configure(replica, "replica-" + (replicas.size() + 1), environment);
+            // En MySQL, una escritura enrutada por error a la réplica falla en lugar de divergir
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        DataSourcePools pools = new DataSourcePools(primary, replicas, registry.getObject());
+        pools.start(healthCheckMillis);
+        return pools;
+    }
+
+    // El único DataSource del contexto (JPA, JdbcTemplate, proxy de métricas). La conexión real se
+    // pide en la primera sentencia, cuando la transacción ya la marcó readOnly: así
+    // LazyConnectionDataSourceProxy puede tomarla del DataSource de solo lectura.
+    @Bean
+    DataSource dataSource(DataSourcePools pools) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(pools.primary());
+        if (pools.hasReplicas()) {
+            dataSource.setReadOnlyDataSource(pools.readOnlyDataSource());
+        }
+        return dataSource;
+    }
+
+    // /actuator/health -> components.replicas. Siempre UP: sin réplicas sanas se lee del primario
+    @Bean
+    HealthIndicator replicasHealthIndicator(DataSourcePools pools) {
+        return () -> Health.up().withDetails(pools.replicaStatus()).build();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        if (!replicaUrls.isEmpty()) {
+            interceptors.addInterceptor(new ReadYourWritesInterceptor(stickySeconds));
+            if (listEtagEnabled) {
+                interceptors.addInterceptor(new ListReadsOnPrimaryInterceptor()).addPathPatterns("/api/v1/support-tickets");
+            }
+        }
+    }
+
+    // Los mismos ajustes spring.datasource.hikari.* para todos los pools
+    private static void configure(HikariDataSource pool, String name, Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+    }
+}
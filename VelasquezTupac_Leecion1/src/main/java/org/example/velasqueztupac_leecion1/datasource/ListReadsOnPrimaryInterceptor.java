@@ -0,0 +1,29 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Listados (GET /api/v1/support-tickets, también mode=cursor) al primario: su ETag y el "latest" del
+// feed de cambios salen del primario, y una réplica atrasada devolvería filas viejas con el ETag más
+// nuevo (304 sobre datos viejos) o una lista a la que le faltan cambios anteriores a "latest".
+class ListReadsOnPrimaryInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())) {
+            ReadRouting.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadRouting.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRouting.clear();
+    }
+}
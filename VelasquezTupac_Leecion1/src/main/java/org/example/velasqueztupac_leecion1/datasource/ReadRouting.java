@@ -0,0 +1,23 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+// Lecturas que deben ir al primario aunque sean de solo lectura (ver ReadYourWritesInterceptor).
+// Por hilo de petición, como RequestQueryStats; fuera de una petición no aplica.
+final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.util.Set;
+
+// Leer lo propio recién escrito sin depender del retraso de replicación: una petición que escribe
+// (POST, PUT, PATCH, DELETE) lee también del primario y deja una cookie; mientras dure
+// (sticky-seconds), las lecturas de ese cliente siguen yendo al primario.
+class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    static final String COOKIE = "tickets-read-primary";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final int stickySeconds;
+
+    ReadYourWritesInterceptor(int stickySeconds) {
+        this.stickySeconds = stickySeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean writes = !SAFE_METHODS.contains(request.getMethod());
+        if (writes) {
+            // Antes del controlador: después la respuesta ya puede estar confirmada
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, "1")
+                    .maxAge(stickySeconds)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+        if (writes || WebUtils.getCookie(request, COOKIE) != null) {
+            ReadRouting.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadRouting.clear();
+    }
+
+    // Respuestas asíncronas (exportación): el resto corre en otro hilo, que lee de las réplicas
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRouting.clear();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import java.util.Map;
+
+// Resultado individual de un elemento dentro de una operación masiva.
+// 'index' es la posición del elemento en el arreglo recibido.
+public record BulkItemResult(
+        int index,
+        Long id,
+        String ticketNumber,
+        Outcome outcome,
+        Map<String, String> errors
+) {
+
+    // CONFLICT: la 'version' enviada ya no es la actual (otro usuario lo modificó)
+    public enum Outcome {
+        CREATED, UPDATED, INVALID, NOT_FOUND, CONFLICT, FAILED
+    }
+
+    public boolean succeeded() {
+        return outcome == Outcome.CREATED || outcome == Outcome.UPDATED;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import java.util.List;
+
+public record BulkResult(
+        int received,
+        int succeeded,
+        int failed,
+        List<BulkItemResult> items
+) {
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int ok = (int) items.stream().filter(BulkItemResult::succeeded).count();
+        return new BulkResult(items.size(), ok, items.size() - ok, items);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import java.util.List;
+
+// Respuesta del modo cursor (keyset): no incluye totalElements/totalPages
+// porque no se ejecuta el COUNT(*). Para seguir, se envía 'nextCursor' tal cual.
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+)
+{}
@@ -0,0 +1,21 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+// Progreso / resumen de una importación masiva.
+// 'lastCommittedRow' es la fila (sin contar la cabecera) hasta la que todo quedó
+// confirmado o rechazado: para reanudar se salta hasta esa fila.
+public record ImportReport(
+        String jobId,
+        String status,
+        String source,
+        String format,
+        long rowsRead,
+        long rowsImported,
+        long rowsRejected,
+        long lastCommittedRow,
+        long elapsedMillis,
+        double rowsPerSecond,
+        long peakHeapMb,
+        String rejectsFile,
+        String error
+)
+{}
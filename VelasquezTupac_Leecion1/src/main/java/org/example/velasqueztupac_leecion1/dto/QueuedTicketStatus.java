@@ -0,0 +1,21 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import java.util.Map;
+
+// Estado de un ticket creado por la cola de group commit (POST con "Prefer: respond-async").
+// El ticketNumber se asigna al encolar y sirve de clave para consultar el resultado.
+public record QueuedTicketStatus(
+        String ticketNumber,
+        State state,
+        Long id,
+        Map<String, String> errors
+) {
+
+    public enum State {
+        QUEUED, CREATED, INVALID, FAILED
+    }
+
+    public static QueuedTicketStatus queued(String ticketNumber) {
+        return new QueuedTicketStatus(ticketNumber, State.QUEUED, null, Map.of());
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Cuerpo de PATCH: solo los campos presentes (no nulos) se actualizan.
+// 'version' es la que el cliente leyó; si ya cambió en la base se responde 409.
+public record SupportTicketPatch(
+        @NotNull(message = "La versión es obligatoria")
+        Long version,
+
+        @Pattern(regexp = "(?s).*\\S.*", message = "El nombre del solicitante no puede estar vacío")
+        String requesterName,
+
+        TicketStatus status,
+
+        Priority priority,
+
+        @Pattern(regexp = "(?s).*\\S.*", message = "La categoría no puede estar vacía")
+        String category,
+
+        @PositiveOrZero(message = "El costo no puede ser negativo")
+        BigDecimal estimatedCost,
+
+        Currency currency,
+
+        LocalDate dueDate
+) {
+}
@@ -0,0 +1,35 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Proyección de solo lectura para GET (listado y por ID). Se construye directamente
+// en el SELECT, sin entidades administradas ni dirty checking. Mismo JSON que la entidad.
+// Es el valor de la caché de GET /{id}: Serializable para cachés fuera del proceso (ej: Redis).
+public record SupportTicketView(
+        Long id,
+        String ticketNumber,
+        String requesterName,
+        TicketStatus status,
+        Priority priority,
+        String category,
+        BigDecimal estimatedCost,
+        Currency currency,
+        LocalDateTime createdAt,
+        LocalDate dueDate,
+        Long version
+) implements Serializable
+{
+    public static SupportTicketView from(SupportTicket ticket) {
+        return new SupportTicketView(ticket.getId(), ticket.getTicketNumber(), ticket.getRequesterName(),
+                ticket.getStatus(), ticket.getPriority(), ticket.getCategory(), ticket.getEstimatedCost(),
+                ticket.getCurrency(), ticket.getCreatedAt(), ticket.getDueDate(), ticket.getVersion());
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+// Un cambio del feed (GET /changes, SSE /changes/stream).
+// type: CREATED, UPDATED o DELETED. En DELETED 'ticket' es null; en un PATCH solo trae
+// los campos modificados (el resto en null): el cliente combina los campos no nulos.
+public record TicketChange(
+        long sequence,
+        String type,
+        Long id,
+        SupportTicketView ticket
+)
+{}
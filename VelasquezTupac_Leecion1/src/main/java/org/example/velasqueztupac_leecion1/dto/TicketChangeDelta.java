@@ -0,0 +1,16 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import java.util.List;
+
+// Respuesta de GET /changes?since=<seq>.
+// resyncRequired: 'since' ya salió del buffer (o es de otra ejecución del servidor);
+// el cliente debe recargar la lista completa y continuar desde 'latest'.
+// hasMore: quedan cambios; pedir de nuevo con since = último 'sequence' recibido.
+public record TicketChangeDelta(
+        long since,
+        long latest,
+        boolean resyncRequired,
+        boolean hasMore,
+        List<TicketChange> changes
+)
+{}
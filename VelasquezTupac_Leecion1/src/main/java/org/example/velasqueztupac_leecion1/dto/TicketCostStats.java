@@ -0,0 +1,15 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import org.example.velasqueztupac_leecion1.model.Currency;
+
+import java.math.BigDecimal;
+
+// Costo estimado acumulado de una combinación moneda + categoría
+public record TicketCostStats(
+        Currency currency,
+        String category,
+        long tickets,
+        BigDecimal sum,
+        BigDecimal average
+) {
+}
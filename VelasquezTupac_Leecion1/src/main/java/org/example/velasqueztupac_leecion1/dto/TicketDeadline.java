@@ -0,0 +1,10 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import java.time.LocalDate;
+
+// Ticket abierto con su fecha límite. El detalle se obtiene con GET /{id} (cacheado).
+public record TicketDeadline(
+        Long id,
+        LocalDate dueDate
+) {
+}
@@ -0,0 +1,11 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import java.util.List;
+
+// Respuesta de /overdue y /due-within: 'count' es el total, 'tickets' los primeros 'limit'
+// ordenados por fecha límite (el más urgente primero)
+public record TicketDeadlines(
+        long count,
+        List<TicketDeadline> tickets
+) {
+}
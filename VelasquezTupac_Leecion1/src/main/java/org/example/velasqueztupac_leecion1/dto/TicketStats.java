@@ -0,0 +1,21 @@
+package org.example.velasqueztupac_leecion1.dto;
+
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Respuesta de GET /stats. 'from' y 'to' (días de creación, inclusive) son null sin filtro.
+// 'reconciledAt' es la última vez que los contadores se compararon con la base de datos.
+public record TicketStats(
+        LocalDate from,
+        LocalDate to,
+        long total,
+        Map<TicketStatus, Map<Priority, Long>> byStatusAndPriority,
+        List<TicketCostStats> costs,
+        LocalDateTime reconciledAt
+) {
+}
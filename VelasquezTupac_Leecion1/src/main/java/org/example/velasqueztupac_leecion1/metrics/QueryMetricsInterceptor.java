@@ -0,0 +1,75 @@
+package org.example.velasqueztupac_leecion1.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Abre el contexto de RequestQueryStats al entrar a un controlador y, al terminar,
+// publica sentencias y filas de esa petición como histogramas por endpoint.
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    // Parámetros de paginación/orden: no forman parte de la combinación de filtros
+    private static final Set<String> NON_FILTER_PARAMS = Set.of("page", "size", "sort", "cursor", "mode");
+
+    private final MeterRegistry registry;
+
+    public QueryMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            RequestQueryStats.begin(handlerName(method), filters(request));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        RequestQueryStats.end();
+        if (stats == null) {
+            return;
+        }
+        DistributionSummary.builder("tickets.db.statements.per.request")
+                .description("Sentencias SQL por petición HTTP")
+                .tag("handler", stats.handler())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.statements());
+        DistributionSummary.builder("tickets.db.rows.per.request")
+                .description("Filas leídas por petición HTTP")
+                .tag("handler", stats.handler())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.rows());
+    }
+
+    // Respuestas asíncronas (exportación): el resto corre en otro hilo, sin contexto
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats.end();
+    }
+
+    static String handlerName(HandlerMethod method) {
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+
+    // Nombres de los filtros presentes (sin valores: q puede contener datos personales)
+    private static List<String> filters(HttpServletRequest request) {
+        return request.getParameterMap().entrySet().stream()
+                .filter(e -> !NON_FILTER_PARAMS.contains(e.getKey()))
+                .filter(e -> e.getValue().length > 0 && !e.getValue()[0].isBlank())
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.velasqueztupac_leecion1.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Escucha el proxy JDBC (datasource-proxy) que envuelve el DataSource:
+// - cuenta sentencias ejecutadas y filas leídas (ResultSet.next() == true)
+// - registra en el log las consultas que superan app.metrics.slow-query-ms, con el
+//   endpoint y la combinación de filtros de la petición que las originó
+// Reemplaza a spring.jpa.show-sql, que imprimía cada sentencia de forma síncrona.
+@Component
+public class QueryMetricsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsListener.class);
+
+    private final Counter statements;
+    private final Counter rows;
+    private final Counter slowQueries;
+    private final long slowQueryMillis;
+
+    public QueryMetricsListener(MeterRegistry registry, @Value("${app.metrics.slow-query-ms:250}") long slowQueryMillis) {
+        this.statements = Counter.builder("tickets.db.statements")
+                .description("Sentencias SQL ejecutadas")
+                .register(registry);
+        this.rows = Counter.builder("tickets.db.rows")
+                .description("Filas leídas de los ResultSet")
+                .register(registry);
+        this.slowQueries = Counter.builder("tickets.db.slow.queries")
+                .description("Consultas por encima de app.metrics.slow-query-ms")
+                .register(registry);
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Un lote JDBC cuenta como una sentencia por cada fila del lote
+        int executed = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : queryInfoList.size();
+        statements.increment(executed);
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementExecuted(executed);
+        }
+
+        if (execInfo.getElapsedTime() >= slowQueryMillis) {
+            slowQueries.increment();
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            if (stats != null) {
+                log.warn("Consulta lenta ({} ms) en {} con filtros {}: {}",
+                        execInfo.getElapsedTime(), stats.handler(), stats.filters(), sql);
+            } else {
+                log.warn("Consulta lenta ({} ms) fuera de una petición HTTP: {}", execInfo.getElapsedTime(), sql);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            rows.increment();
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.rowFetched();
+            }
+        }
+    }
+}
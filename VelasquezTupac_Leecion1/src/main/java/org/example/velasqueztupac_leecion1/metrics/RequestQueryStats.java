@@ -0,0 +1,48 @@
+package org.example.velasqueztupac_leecion1.metrics;
+
+import java.util.List;
+
+// Contadores de SQL de la petición HTTP en curso (un objeto por hilo de petición).
+// Fuera de una petición (importaciones, tareas de fondo) no hay contexto y solo
+// se alimentan los contadores globales.
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+    private final List<String> filters;
+    private int statements;
+    private long rows;
+
+    private RequestQueryStats(String handler, List<String> filters) {
+        this.handler = handler;
+        this.filters = filters;
+    }
+
+    static RequestQueryStats begin(String handler, List<String> filters) {
+        RequestQueryStats stats = new RequestQueryStats(handler, filters);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(int count) {
+        statements += count;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public String handler() { return handler; }
+    public List<String> filters() { return filters; }
+    public int statements() { return statements; }
+    public long rows() { return rows; }
+}
@@ -0,0 +1,99 @@
+package org.example.velasqueztupac_leecion1.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Tickets cerrados o cancelados que TicketArchiver sacó de support_tickets.
+// Mismas columnas (y mismos nombres de atributo, para reutilizar las Specification) más
+// archived_at. Solo lectura: las filas llegan con INSERT ... SELECT y conservan su ID.
+@Entity
+@Immutable
+@Table(name = "support_tickets_archive", uniqueConstraints = {
+        @UniqueConstraint(columnNames = "ticket_number")
+}, indexes = {
+        // Los mismos índices (clave, id) que la tabla activa, para el modo cursor con includeArchived
+        @Index(name = "idx_support_tickets_archive_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_support_tickets_archive_due_date_id", columnList = "due_date, id"),
+        @Index(name = "idx_support_tickets_archive_estimated_cost_id", columnList = "estimated_cost, id")
+})
+public class ArchivedSupportTicket {
+
+    @Id
+    private Long id;
+
+    @Column(name = "ticket_number", nullable = false, unique = true)
+    private String ticketNumber;
+
+    private String requesterName;
+
+    @Enumerated(EnumType.STRING)
+    private TicketStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    private String category;
+
+    private BigDecimal estimatedCost;
+
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+
+    private LocalDateTime createdAt;
+
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Copia desacoplada con la forma del ticket activo (exportación)
+    public SupportTicket toTicket() {
+        SupportTicket ticket = new SupportTicket();
+        ticket.setId(id);
+        ticket.setTicketNumber(ticketNumber);
+        ticket.setRequesterName(requesterName);
+        ticket.setStatus(status);
+        ticket.setPriority(priority);
+        ticket.setCategory(category);
+        ticket.setEstimatedCost(estimatedCost);
+        ticket.setCurrency(currency);
+        ticket.setCreatedAt(createdAt);
+        ticket.setDueDate(dueDate);
+        ticket.setVersion(version);
+        return ticket;
+    }
+
+    // ==========================================
+    // GETTERS
+    // ==========================================
+
+    public Long getId() { return id; }
+
+    public String getTicketNumber() { return ticketNumber; }
+
+    public String getRequesterName() { return requesterName; }
+
+    public TicketStatus getStatus() { return status; }
+
+    public Priority getPriority() { return priority; }
+
+    public String getCategory() { return category; }
+
+    public BigDecimal getEstimatedCost() { return estimatedCost; }
+
+    public Currency getCurrency() { return currency; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
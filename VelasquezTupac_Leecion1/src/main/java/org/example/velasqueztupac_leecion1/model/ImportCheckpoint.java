@@ -0,0 +1,69 @@
+package org.example.velasqueztupac_leecion1.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Avance de una importación (TicketImportService). Se actualiza en la misma transacción que
+// inserta cada bloque de tickets: tras una caída, lastCommittedRow nunca queda por detrás de lo
+// ya guardado y reanudar no duplica filas.
+@Entity
+@Table(name = "ticket_import_checkpoints")
+public class ImportCheckpoint {
+
+    @Id
+    @Column(length = 36)
+    private String jobId;
+
+    @Column(nullable = false, length = 1000)
+    private String source;
+
+    @Column(nullable = false, length = 10)
+    private String format;
+
+    // RUNNING mientras avanza; si sigue así tras un reinicio, la importación quedó interrumpida
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    private long lastCommittedRow;
+
+    private long rowsImported;
+
+    private long rowsRejected;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // ==========================================
+    // GETTERS Y SETTERS
+    // ==========================================
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getLastCommittedRow() { return lastCommittedRow; }
+    public void setLastCommittedRow(long lastCommittedRow) { this.lastCommittedRow = lastCommittedRow; }
+
+    public long getRowsImported() { return rowsImported; }
+    public void setRowsImported(long rowsImported) { this.rowsImported = rowsImported; }
+
+    public long getRowsRejected() { return rowsRejected; }
+    public void setRowsRejected(long rowsRejected) { this.rowsRejected = rowsRejected; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
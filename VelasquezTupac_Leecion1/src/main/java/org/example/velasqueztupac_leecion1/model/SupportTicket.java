@@ -2,22 +2,35 @@ package org.example.velasqueztupac_leecion1.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.example.velasqueztupac_leecion1.service.TicketNumberListener;
+import org.hibernate.annotations.ColumnDefault;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
 @Table(name = "support_tickets", uniqueConstraints = {
         @UniqueConstraint(columnNames = "ticket_number")
+}, indexes = {
+        // Índices compuestos (clave, id) para la paginación por cursor (keyset)
+        @Index(name = "idx_support_tickets_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_support_tickets_due_date_id", columnList = "due_date, id"),
+        @Index(name = "idx_support_tickets_estimated_cost_id", columnList = "estimated_cost, id"),
+        // Candidatos del archivado (estado terminal + antigüedad) sin recorrer toda la tabla
+        @Index(name = "idx_support_tickets_status_created_at", columnList = "status, created_at")
 })
-public class SupportTicket {
+@EntityListeners(TicketNumberListener.class)
+public class SupportTicket implements Serializable {
 
+    // Secuencia con asignación por bloques (pooled): a diferencia de IDENTITY,
+    // permite que Hibernate agrupe los INSERT en lotes JDBC (ver carga masiva)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_tickets_seq")
+    @SequenceGenerator(name = "support_tickets_seq", sequenceName = "support_tickets_seq", allocationSize = 50)
     private Long id;
 
-    // Se generará automáticamente si no viene, pero debe ser único
+    // Se generará automáticamente si no viene (ver TicketNumberListener), pero debe ser único
     @Column(name = "ticket_number", nullable = false, unique = true)
     private String ticketNumber;
 
@@ -49,16 +62,22 @@ public class SupportTicket {
     @NotNull(message = "La fecha máxima de atención es obligatoria")
     private LocalDate dueDate;
 
+    // Bloqueo optimista: cada UPDATE la incrementa; PATCH la exige (WHERE id = ? AND version = ?).
+    // DEFAULT 0 para que las filas existentes reciban versión al agregar la columna.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     public void prePersist() {
-        this.createdAt = LocalDateTime.now();
+        // Solo la importación histórica llega con createdAt; el API lo limpia antes de guardar
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
         if (this.status == null) {
             this.status = TicketStatus.OPEN;
         }
-        // Generador simple de ticket si viene vacío: ST-UUID
-        if (this.ticketNumber == null || this.ticketNumber.isEmpty()) {
-            this.ticketNumber = "ST-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        }
     }
 
     // ==========================================
@@ -94,4 +113,7 @@ public class SupportTicket {
 
     public LocalDate getDueDate() { return dueDate; }
     public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
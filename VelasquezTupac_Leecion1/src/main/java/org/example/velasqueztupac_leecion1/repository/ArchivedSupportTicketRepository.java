@@ -0,0 +1,10 @@
+package org.example.velasqueztupac_leecion1.repository;
+
+import org.example.velasqueztupac_leecion1.model.ArchivedSupportTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Las lecturas del archivo junto con la tabla activa están en SupportTicketViewQueries
+@Repository
+public interface ArchivedSupportTicketRepository extends JpaRepository<ArchivedSupportTicket, Long> {
+}
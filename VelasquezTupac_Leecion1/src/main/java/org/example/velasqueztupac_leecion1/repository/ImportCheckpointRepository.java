@@ -0,0 +1,9 @@
+package org.example.velasqueztupac_leecion1.repository;
+
+import org.example.velasqueztupac_leecion1.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -3,10 +3,19 @@ package org.example.velasqueztupac_leecion1.repository;
 import org.example.velasqueztupac_leecion1.model.SupportTicket;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SupportTicketRepository extends
         JpaRepository<SupportTicket, Long>,
-        JpaSpecificationExecutor<SupportTicket> {
+        JpaSpecificationExecutor<SupportTicket>,
+        SupportTicketViewQueries {
+
+    // DELETE de una sola sentencia: las filas afectadas indican si el ticket existía
+    @Modifying
+    @Query("DELETE FROM SupportTicket t WHERE t.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package org.example.velasqueztupac_leecion1.repository;
+
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+// Consultas de lectura que devuelven SupportTicketView en lugar de entidades
+public interface SupportTicketViewQueries {
+
+    Page<SupportTicketView> findViews(Specification<SupportTicket> spec, Pageable pageable);
+
+    List<SupportTicketView> findViews(Specification<SupportTicket> spec, Sort sort, int limit);
+
+    Optional<SupportTicketView> findViewById(Long id);
+
+    // Tabla activa + archivo (includeArchived): cada tabla se consulta por separado, con sus
+    // propios índices, y los dos resultados ya ordenados se mezclan en Java. Por eso solo se
+    // ordena por claves no textuales (id, fechas, costo, versión); otra da IllegalArgumentException (400)
+    Page<SupportTicketView> findViewsIncludingArchive(Specification<SupportTicket> spec, Pageable pageable);
+
+    List<SupportTicketView> findViewsIncludingArchive(Specification<SupportTicket> spec, Sort sort, int limit);
+
+    Optional<SupportTicketView> findArchivedViewById(Long id);
+}
@@ -0,0 +1,179 @@
+package org.example.velasqueztupac_leecion1.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.ArchivedSupportTicket;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Implementación (fragmento de Spring Data) con Criteria API:
+// SELECT new SupportTicketView(...) FROM SupportTicket WHERE <Specification>
+class SupportTicketViewQueriesImpl implements SupportTicketViewQueries {
+
+    // Claves para mezclar tabla activa y archivo en el mismo orden que el ORDER BY. Solo números
+    // y fechas: el texto (también los enums, guardados como STRING) lo ordena la collation de la
+    // base (en MySQL utf8mb4_*_ci, sin distinguir acentos ni mayúsculas), que Java no reproduce;
+    // mezclar con otro orden intercala mal las filas o se salta algunas entre páginas.
+    private static final Map<String, Function<SupportTicketView, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", SupportTicketView::id,
+            "estimatedCost", SupportTicketView::estimatedCost,
+            "createdAt", SupportTicketView::createdAt,
+            "dueDate", SupportTicketView::dueDate,
+            "version", SupportTicketView::version
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<SupportTicketView> findViews(Specification<SupportTicket> spec, Pageable pageable) {
+        TypedQuery<SupportTicketView> query = entityManager.createQuery(select(SupportTicket.class, spec, pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // El COUNT solo se ejecuta si no se puede deducir del tamaño de la página
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(SupportTicket.class, spec));
+    }
+
+    @Override
+    public List<SupportTicketView> findViews(Specification<SupportTicket> spec, Sort sort, int limit) {
+        return views(SupportTicket.class, spec, sort, limit);
+    }
+
+    @Override
+    public Optional<SupportTicketView> findViewById(Long id) {
+        return findViews(byId(id), Sort.unsorted(), 1).stream().findFirst();
+    }
+
+    // Página N de la unión: bastan las primeras offset + size filas de cada tabla.
+    // El costo crece con el offset; para recorridos profundos, el modo cursor.
+    @Override
+    public Page<SupportTicketView> findViewsIncludingArchive(Specification<SupportTicket> spec, Pageable pageable) {
+        int offset = pageable.isPaged() ? Math.toIntExact(pageable.getOffset()) : 0;
+        int limit = pageable.isPaged() ? Math.addExact(offset, pageable.getPageSize()) : Integer.MAX_VALUE;
+        List<SupportTicketView> merged = findViewsIncludingArchive(spec, pageable.getSort(), limit);
+        List<SupportTicketView> content = merged.subList(Math.min(offset, merged.size()), merged.size());
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> count(SupportTicket.class, spec) + count(ArchivedSupportTicket.class, spec));
+    }
+
+    @Override
+    public List<SupportTicketView> findViewsIncludingArchive(Specification<SupportTicket> spec, Sort sort, int limit) {
+        // Antes de consultar: un orden que no se puede mezclar es un 400, no una página mal ordenada
+        Comparator<SupportTicketView> order = comparator(sort);
+        return merge(views(SupportTicket.class, spec, sort, limit), views(ArchivedSupportTicket.class, spec, sort, limit), order, limit);
+    }
+
+    @Override
+    public Optional<SupportTicketView> findArchivedViewById(Long id) {
+        return views(ArchivedSupportTicket.class, byId(id), Sort.unsorted(), 1).stream().findFirst();
+    }
+
+    private List<SupportTicketView> views(Class<?> entity, Specification<SupportTicket> spec, Sort sort, int limit) {
+        TypedQuery<SupportTicketView> query = entityManager.createQuery(select(entity, spec, sort));
+        if (limit < Integer.MAX_VALUE) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    // 'entity' es SupportTicket o ArchivedSupportTicket: tienen los mismos atributos, así que
+    // las Specification (que solo usan nombres de atributo) sirven para las dos tablas
+    private CriteriaQuery<SupportTicketView> select(Class<?> entity, Specification<SupportTicket> spec, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SupportTicketView> query = criteriaBuilder.createQuery(SupportTicketView.class);
+        Root<SupportTicket> root = root(query, entity);
+        query.select(criteriaBuilder.construct(SupportTicketView.class,
+                root.get("id"),
+                root.get("ticketNumber"),
+                root.get("requesterName"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("category"),
+                root.get("estimatedCost"),
+                root.get("currency"),
+                root.get("createdAt"),
+                root.get("dueDate"),
+                root.get("version")));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return query;
+    }
+
+    private long count(Class<?> entity, Specification<SupportTicket> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<SupportTicket> root = root(query, entity);
+        query.select(criteriaBuilder.count(root));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Root<SupportTicket> root(CriteriaQuery<?> query, Class<?> entity) {
+        return (Root<SupportTicket>) query.from(entity);
+    }
+
+    private static Specification<SupportTicket> byId(Long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+    }
+
+    // Mezcla (como en merge sort) dos listas ya ordenadas por 'sort', hasta 'limit' filas.
+    // Sin orden, primero la tabla activa.
+    private static List<SupportTicketView> merge(List<SupportTicketView> active, List<SupportTicketView> archived, Comparator<SupportTicketView> order, int limit) {
+        List<SupportTicketView> merged = new ArrayList<>(Math.min(limit, active.size() + archived.size()));
+        int a = 0;
+        int b = 0;
+        while (merged.size() < limit && (a < active.size() || b < archived.size())) {
+            if (b == archived.size() || (a < active.size() && order.compare(active.get(a), archived.get(b)) <= 0)) {
+                merged.add(active.get(a++));
+            } else {
+                merged.add(archived.get(b++));
+            }
+        }
+        return merged;
+    }
+
+    // Nulos primero en ASC y al final en DESC, como en MySQL y H2
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<SupportTicketView> comparator(Sort sort) {
+        Comparator<SupportTicketView> order = (left, right) -> 0;
+        for (Sort.Order property : sort) {
+            Function key = SORT_KEYS.get(property.getProperty());
+            if (key == null) {
+                throw new IllegalArgumentException("Campo de orden no soportado con includeArchived: " + property.getProperty()
+                        + " (use id, createdAt, dueDate, estimatedCost o version)");
+            }
+            Comparator<SupportTicketView> field = Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+            order = order.thenComparing(property.isAscending() ? field : field.reversed());
+        }
+        return order;
+    }
+}
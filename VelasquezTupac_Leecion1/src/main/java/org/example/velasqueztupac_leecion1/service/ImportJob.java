@@ -0,0 +1,139 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.ImportReport;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Estado de una importación en curso; lo actualizan las etapas del pipeline
+// y lo lee GET /import/{jobId}
+class ImportJob {
+
+    enum Status {
+        RUNNING, COMPLETED, FAILED, INTERRUPTED
+    }
+
+    private final String id;
+    private final String source;
+    private final TicketExportFormat format;
+    private final long skip;
+    private final Path rejectsFile;
+    private final long startNanos = System.nanoTime();
+
+    final AtomicLong rowsRead = new AtomicLong();
+    final AtomicLong rowsImported = new AtomicLong();
+    final AtomicLong rowsRejected = new AtomicLong();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile long lastCommittedRow;
+    private volatile long endNanos;
+    private volatile long peakHeapBytes;
+    private volatile String error;
+    private volatile long closedNanos;
+
+    ImportJob(String id, String source, TicketExportFormat format, long skip, Path rejectsFile) {
+        this.id = id;
+        this.source = source;
+        this.format = format;
+        this.skip = skip;
+        this.rejectsFile = rejectsFile;
+        this.lastCommittedRow = skip;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String source() {
+        return source;
+    }
+
+    TicketExportFormat format() {
+        return format;
+    }
+
+    long skip() {
+        return skip;
+    }
+
+    Path rejectsFile() {
+        return rejectsFile;
+    }
+
+    Status status() {
+        return status;
+    }
+
+    long lastCommittedRow() {
+        return lastCommittedRow;
+    }
+
+    void committedUpTo(long row) {
+        lastCommittedRow = row;
+    }
+
+    boolean isFailed() {
+        return status == Status.FAILED;
+    }
+
+    // Se conserva el primer error: el de la otra etapa ("se detuvo") es solo su consecuencia
+    void fail(Throwable ex) {
+        if (status != Status.FAILED) {
+            error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            status = Status.FAILED;
+        }
+    }
+
+    String error() {
+        return error;
+    }
+
+    // Estado leído del checkpoint tras un reinicio: lo que seguía RUNNING ya no tiene quien lo avance
+    void restore(Status saved, String savedError) {
+        status = saved == Status.RUNNING ? Status.INTERRUPTED : saved;
+        error = saved == Status.RUNNING ? "La importación no terminó; puede reanudarse" : savedError;
+        endNanos = startNanos;
+        closedNanos = System.nanoTime();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+        if (status == Status.RUNNING) {
+            status = Status.COMPLETED;
+        }
+    }
+
+    // El pipeline lo soltó: el checkpoint final ya está guardado y nadie más lo escribe.
+    // Hasta entonces no se puede reanudar; después se puede descartar de memoria.
+    void close() {
+        closedNanos = System.nanoTime();
+    }
+
+    boolean isClosed() {
+        return closedNanos != 0;
+    }
+
+    boolean closedBefore(long nanos) {
+        return closedNanos != 0 && closedNanos - nanos < 0;
+    }
+
+    // Muestreo del heap usado; se llama tras cada bloque confirmado
+    void sampleHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        if (used > peakHeapBytes) {
+            peakHeapBytes = used;
+        }
+    }
+
+    // El estado final se publica al cerrarse: mientras tanto sigue RUNNING (y resume daría 409)
+    ImportReport toReport() {
+        long elapsed = ((endNanos != 0 ? endNanos : System.nanoTime()) - startNanos) / 1_000_000;
+        double rate = elapsed > 0 ? rowsImported.get() * 1000.0 / elapsed : 0;
+        Status reported = isClosed() ? status : Status.RUNNING;
+        return new ImportReport(id, reported.name(), source, format.name(),
+                rowsRead.get(), rowsImported.get(), rowsRejected.get(), lastCommittedRow,
+                elapsed, Math.round(rate * 10) / 10.0, peakHeapBytes / (1024 * 1024),
+                rejectsFile.toString(), error);
+    }
+}
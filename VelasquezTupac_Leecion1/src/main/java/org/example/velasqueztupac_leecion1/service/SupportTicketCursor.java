@@ -0,0 +1,72 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Posición dentro de un recorrido keyset: el valor de la clave de orden y el ID
+ * de la última fila entregada. El ID desempata filas con la misma clave.
+ * Viaja al cliente como un token opaco (Base64 URL-safe).
+ */
+public record SupportTicketCursor(
+        String sortField,
+        Sort.Direction direction,
+        Comparable<?> value,
+        Long id
+) {
+
+    // Claves de orden permitidas: deben ser columnas NOT NULL con índice (x, id)
+    private static final Map<String, Function<String, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "createdAt", LocalDateTime::parse,
+            "dueDate", LocalDate::parse,
+            "estimatedCost", BigDecimal::new
+    );
+
+    private static final String SEPARATOR = "|";
+
+    public static boolean isSortable(String field) {
+        return SORT_KEYS.containsKey(field);
+    }
+
+    // Construye el cursor que apunta a la última fila de la página actual
+    public static SupportTicketCursor after(SupportTicketView last, String sortField, Sort.Direction direction) {
+        Comparable<?> value = switch (sortField) {
+            case "id" -> last.id();
+            case "createdAt" -> last.createdAt();
+            case "dueDate" -> last.dueDate();
+            case "estimatedCost" -> last.estimatedCost();
+            default -> throw new IllegalArgumentException("Campo de orden no soportado en modo cursor: " + sortField);
+        };
+        return new SupportTicketCursor(sortField, direction, value, last.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortField, direction.name(), String.valueOf(value), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SupportTicketCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4 || !isSortable(parts[0])) {
+                throw new IllegalArgumentException("Formato de cursor desconocido");
+            }
+            Comparable<?> value = SORT_KEYS.get(parts[0]).apply(parts[2]);
+            return new SupportTicketCursor(parts[0], Sort.Direction.valueOf(parts[1]), value, Long.valueOf(parts[3]));
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El cursor enviado no es válido");
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package org.example.velasqueztupac_leecion1.service;
 
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.dto.CursorPage;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
 import org.example.velasqueztupac_leecion1.model.Currency;
 import org.example.velasqueztupac_leecion1.model.SupportTicket;
 import org.example.velasqueztupac_leecion1.model.TicketStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface SupportTicketService {
 
@@ -16,26 +25,60 @@ public interface SupportTicketService {
     // ----------------------------------------------------
     SupportTicket create(SupportTicket ticket);
 
+    // Carga masiva: valida cada elemento y persiste los válidos en lotes JDBC
+    BulkResult createAll(List<SupportTicket> tickets);
+
+    // Importación histórica: como createAll, pero conserva createdAt y confirma
+    // todo el bloque en una sola transacción (unidad de reanudación). 'inTransaction' recibe los
+    // índices guardados dentro de cada transacción que confirma tickets, antes del commit
+    BulkResult importChunk(List<SupportTicket> tickets, Consumer<List<Integer>> inTransaction);
+
     // ----------------------------------------------------
     // R - READ (Leer)
     // ----------------------------------------------------
 
+    // Las lecturas devuelven proyecciones (SupportTicketView); las escrituras, entidades.
+    // Los listados leen solo la tabla activa; con includeArchived también el archivo (TicketArchiver).
+
     // Leer - Listar y Filtrar
-    Page<SupportTicket> getAll(
+    Page<SupportTicketView> getAll(
             String q, TicketStatus status, Currency currency,
             BigDecimal minCost, BigDecimal maxCost,
-            LocalDateTime from, LocalDateTime to,
+            LocalDateTime from, LocalDateTime to, boolean includeArchived,
             Pageable pageable
     );
 
-    // Leer - Obtener por ID
-    SupportTicket getById(Long id);
+    // Leer - Listar en modo cursor (keyset): sin OFFSET ni COUNT(*)
+    CursorPage<SupportTicketView> getAllByCursor(
+            String q, TicketStatus status, Currency currency,
+            BigDecimal minCost, BigDecimal maxCost,
+            LocalDateTime from, LocalDateTime to, boolean includeArchived,
+            Sort sort, String cursor, int size
+    );
+
+    // Leer - Exportar todo el resultado filtrado en streaming (memoria constante).
+    // Devuelve el número de filas escritas.
+    long export(
+            String q, TicketStatus status, Currency currency,
+            BigDecimal minCost, BigDecimal maxCost,
+            LocalDateTime from, LocalDateTime to, boolean includeArchived,
+            TicketExportFormat format, OutputStream out
+    ) throws IOException;
+
+    // Leer - Obtener por ID (en la tabla activa o, si no está, en el archivo)
+    SupportTicketView getById(Long id);
 
     // ----------------------------------------------------
     // U - UPDATE (Actualizar)
     // ----------------------------------------------------
     SupportTicket update(Long id, SupportTicket ticket);
 
+    // Actualizar - Parcial con bloqueo optimista: un solo UPDATE condicional. Devuelve la nueva versión
+    long patch(Long id, SupportTicketPatch patch);
+
+    // Actualización masiva: cada elemento debe traer su 'id'
+    BulkResult updateAll(List<SupportTicket> tickets);
+
     // ----------------------------------------------------
     // D - DELETE (Eliminar)
     // ----------------------------------------------------
@@ -1,58 +1,357 @@
 package org.example.velasqueztupac_leecion1.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.velasqueztupac_leecion1.dto.BulkItemResult;
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.dto.CursorPage;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.ArchivedSupportTicket;
 import org.example.velasqueztupac_leecion1.model.Currency;
 import org.example.velasqueztupac_leecion1.model.SupportTicket;
 import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.ArchivedSupportTicketRepository;
 import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class SupportTicketServiceImpl implements SupportTicketService {
 
+    // Tamaño máximo de página permitido en modo cursor
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     @Autowired
     private SupportTicketRepository repository;
 
+    @Autowired
+    private ArchivedSupportTicketRepository archiveRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Tamaño de cada lote en operaciones masivas (flush + clear por lote)
+    @Value("${app.tickets.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    // Máximo de elementos aceptados en una sola petición masiva
+    @Value("${app.tickets.bulk.max-items:10000}")
+    private int bulkMaxItems;
+
+    // Filas que el driver trae por viaje al exportar (MySQL requiere useCursorFetch=true)
+    @Value("${app.tickets.export.fetch-size:1000}")
+    private int exportFetchSize;
+
     // ----------------------------------------------------
     // C - CREATE (Crear)
     // ----------------------------------------------------
     @Override
     public SupportTicket create(SupportTicket ticket) {
-        return repository.save(ticket);
+        // El ID lo asigna la secuencia, createdAt el servidor (@PrePersist) y la versión Hibernate
+        ticket.setId(null);
+        ticket.setCreatedAt(null);
+        ticket.setVersion(null);
+        SupportTicket saved = repository.save(ticket);
+        publish(TicketChangedEvent.Type.CREATED, saved);
+        return saved;
+    }
+
+    // ----------------------------------------------------
+    // C - CREATE (Crear) - Carga masiva
+    // ----------------------------------------------------
+    @Override
+    public BulkResult createAll(List<SupportTicket> tickets) {
+        checkBulkSize(tickets);
+        tickets.stream().filter(ticket -> ticket != null).forEach(ticket -> ticket.setCreatedAt(null));
+        return persistNew(tickets, bulkBatchSize, saved -> { });
+    }
+
+    @Override
+    public BulkResult importChunk(List<SupportTicket> tickets, Consumer<List<Integer>> inTransaction) {
+        return persistNew(tickets, Math.max(1, tickets.size()), inTransaction);
+    }
+
+    // Valida cada elemento y persiste los válidos en transacciones de 'chunkSize' elementos
+    private BulkResult persistNew(List<SupportTicket> tickets, int chunkSize, Consumer<List<Integer>> inTransaction) {
+        BulkItemResult[] results = new BulkItemResult[tickets.size()];
+
+        // 1. Validación individual: los inválidos se reportan y no detienen al resto
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < tickets.size(); i++) {
+            Map<String, String> errors = validate(tickets.get(i));
+            if (errors.isEmpty()) {
+                tickets.get(i).setId(null);
+                tickets.get(i).setVersion(null);
+                valid.add(i);
+            } else {
+                results[i] = new BulkItemResult(i, null, null, BulkItemResult.Outcome.INVALID, errors);
+            }
+        }
+
+        // 2. Persistencia por lotes: una transacción y un batch JDBC por lote
+        for (int start = 0; start < valid.size(); start += chunkSize) {
+            persistChunk(tickets, valid.subList(start, Math.min(start + chunkSize, valid.size())), results, inTransaction);
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    private void persistChunk(List<SupportTicket> tickets, List<Integer> chunk, BulkItemResult[] results,
+                              Consumer<List<Integer>> inTransaction) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                chunk.forEach(i -> entityManager.persist(tickets.get(i)));
+                entityManager.flush();
+                inTransaction.accept(chunk);
+                entityManager.clear();
+            });
+            for (int i : chunk) {
+                SupportTicket saved = tickets.get(i);
+                results[i] = new BulkItemResult(i, saved.getId(), saved.getTicketNumber(), BulkItemResult.Outcome.CREATED, Map.of());
+                publish(TicketChangedEvent.Type.CREATED, saved);
+            }
+        } catch (PersistenceException | DataAccessException ex) {
+            // El lote se revirtió completo: los IDs asignados ya no son válidos
+            chunk.forEach(i -> tickets.get(i).setId(null));
+            if (chunk.size() == 1) {
+                int i = chunk.get(0);
+                results[i] = new BulkItemResult(i, null, tickets.get(i).getTicketNumber(), BulkItemResult.Outcome.FAILED,
+                        Map.of("ticket", "No se pudo guardar el ticket (ej: ticketNumber duplicado)"));
+                return;
+            }
+            // Reintento uno a uno para aislar el elemento que rompió el lote
+            chunk.forEach(i -> persistChunk(tickets, List.of(i), results, inTransaction));
+        }
     }
 
     // ----------------------------------------------------
     // R - READ (Leer) - Listar y Filtrar
     // ----------------------------------------------------
     @Override
-    public Page<SupportTicket> getAll(String q, TicketStatus status, Currency currency, BigDecimal minCost, BigDecimal maxCost, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<SupportTicketView> getAll(String q, TicketStatus status, Currency currency, BigDecimal minCost, BigDecimal maxCost, LocalDateTime from, LocalDateTime to, boolean includeArchived, Pageable pageable) {
 
         // REGLA DE NEGOCIO: Validación de fechas
-        if (from != null && to != null && from.isAfter(to)) {
-            // Usamos ResponseStatusException para manejar errores HTTP
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La fecha 'from' no puede ser posterior a la fecha 'to'");
-        }
+        validateDateRange(from, to);
 
         // Llamamos a nuestra Specification (la clase que hicimos antes)
         Specification<SupportTicket> spec = SupportTicketSpecification.filterBy(q, status, currency, minCost, maxCost, from, to);
 
-        return repository.findAll(spec, pageable);
+        // El índice de trigramas acota 'q' a un conjunto de IDs antes de consultar
+        Optional<Specification<SupportTicket>> narrowed = narrowBySearchIndex(spec, q);
+        if (narrowed.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        return includeArchived
+                ? repository.findViewsIncludingArchive(narrowed.get(), pageable)
+                : repository.findViews(narrowed.get(), pageable);
+    }
+
+    // ----------------------------------------------------
+    // R - READ (Leer) - Listar en modo cursor (keyset)
+    // ----------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SupportTicketView> getAllByCursor(String q, TicketStatus status, Currency currency, BigDecimal minCost, BigDecimal maxCost, LocalDateTime from, LocalDateTime to, boolean includeArchived, Sort sort, String cursor, int size) {
+        validateDateRange(from, to);
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El tamaño de página debe estar entre 1 y " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        // 1. El orden lo fija el cursor; en la primera página se toma del parámetro 'sort'
+        SupportTicketCursor position = cursor != null && !cursor.isBlank() ? SupportTicketCursor.decode(cursor) : null;
+        String sortField;
+        Sort.Direction direction;
+        if (position != null) {
+            sortField = position.sortField();
+            direction = position.direction();
+        } else {
+            Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("createdAt"));
+            sortField = order.getProperty();
+            direction = order.getDirection();
+            if (!SupportTicketCursor.isSortable(sortField)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo de orden no soportado en modo cursor: " + sortField);
+            }
+        }
+
+        // 2. Filtros normales + predicado keyset; el ID siempre desempata
+        Optional<Specification<SupportTicket>> narrowed = narrowBySearchIndex(
+                SupportTicketSpecification.filterBy(q, status, currency, minCost, maxCost, from, to), q);
+        if (narrowed.isEmpty()) {
+            return new CursorPage<>(List.of(), size, false, null);
+        }
+        Specification<SupportTicket> spec = narrowed.get();
+        if (position != null) {
+            spec = spec.and(SupportTicketSpecification.seekAfter(position));
+        }
+        Sort keysetSort = "id".equals(sortField)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+
+        // 3. Pedimos una fila extra para saber si hay página siguiente (sin COUNT).
+        // Con el archivo, size + 1 de cada tabla y mezcla por (sortField, id): el cursor sirve igual.
+        List<SupportTicketView> rows = includeArchived
+                ? repository.findViewsIncludingArchive(spec, keysetSort, size + 1)
+                : repository.findViews(spec, keysetSort, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<SupportTicketView> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? SupportTicketCursor.after(content.get(content.size() - 1), sortField, direction).encode()
+                : null;
+
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
+    // ----------------------------------------------------
+    // R - READ (Leer) - Exportar en streaming (NDJSON / CSV)
+    // ----------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public long export(String q, TicketStatus status, Currency currency, BigDecimal minCost, BigDecimal maxCost, LocalDateTime from, LocalDateTime to, boolean includeArchived, TicketExportFormat format, OutputStream out) throws IOException {
+        validateDateRange(from, to);
+
+        Optional<Specification<SupportTicket>> narrowed = narrowBySearchIndex(
+                SupportTicketSpecification.filterBy(q, status, currency, minCost, maxCost, from, to), q);
+
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator json = null;
+        // Sin FLUSH_AFTER_WRITE_VALUE (activo por defecto): si no, cada fila vacía el búfer y el stream
+        // del servlet (un chunk por fila). Se vacía una sola vez al final, con writer.flush().
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (format == TicketExportFormat.CSV) {
+            writer.write(TicketCsv.HEADER);
+            writer.write('\n');
+        } else {
+            json = objectMapper.getFactory().createGenerator(writer);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            json.setRootValueSeparator(null);
+        }
+        if (narrowed.isEmpty()) {
+            writer.flush();
+            return 0;
+        }
+
+        // Primero la tabla activa y luego el archivo, cada una en orden de id
+        written += exportRows(SupportTicket.class, narrowed.get(), ticket -> ticket, json, rowWriter, writer);
+        if (includeArchived) {
+            written += exportRows(ArchivedSupportTicket.class, narrowed.get(), ArchivedSupportTicket::toTicket, json, rowWriter, writer);
+        }
+
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+        return written;
+    }
+
+    // 'entity' es SupportTicket o ArchivedSupportTicket: los mismos atributos, la misma Specification
+    @SuppressWarnings("unchecked")
+    private <T> long exportRows(Class<T> entity, Specification<SupportTicket> spec, Function<T, SupportTicket> toTicket, JsonGenerator json, ObjectWriter rowWriter, Writer writer) throws IOException {
+        // 1. Misma Specification que el listado, ejecutada como cursor del lado del servidor
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(entity);
+        Root<T> root = query.from(entity);
+        query.where(spec.toPredicate((Root<SupportTicket>) root, query, criteriaBuilder));
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        long written = 0;
+        try (Stream<T> rows = entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            for (T row : (Iterable<T>) rows::iterator) {
+                SupportTicket ticket = toTicket.apply(row);
+                if (json != null) {
+                    rowWriter.writeValue(json, ticket);
+                    json.writeRaw('\n');
+                } else {
+                    writer.write(TicketCsv.toRow(ticket));
+                    writer.write('\n');
+                }
+                // 2. Cada fila se suelta del contexto de persistencia apenas se escribe
+                entityManager.detach(row);
+                written++;
+            }
+        }
+        return written;
     }
 
     // ----------------------------------------------------
     // R - READ (Leer) - Obtener por ID
     // ----------------------------------------------------
+    // Lectura cacheada: las escrituras la invalidan vía TicketCacheInvalidator.
+    // Un ticket archivado cuesta una consulta más (al archivo) solo la primera vez.
+    // Sin readOnly a propósito: lee siempre del primario. Lo leído de una réplica atrasada quedaría
+    // en la caché (y en su ETag) para todos los clientes, también los que tienen la cookie de
+    // ReadYourWritesInterceptor; la caché ya absorbe casi todas estas lecturas.
     @Override
-    public SupportTicket getById(Long id) {
-        return repository.findById(id)
+    @Cacheable(cacheNames = TicketCacheInvalidator.CACHE_NAME, key = "#id")
+    @Transactional
+    public SupportTicketView getById(Long id) {
+        return repository.findViewById(id)
+                .or(() -> repository.findArchivedViewById(id))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket de soporte no encontrado con ID: " + id));
     }
 
@@ -63,38 +362,236 @@ public class SupportTicketServiceImpl implements SupportTicketService {
     public SupportTicket update(Long id, SupportTicket updatedTicket) {
         // 1. Buscamos el ticket existente
         SupportTicket existingTicket = repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket de soporte no encontrado con ID: " + id));
+                .orElseThrow(() -> notFound(id));
+
+        // Si el cliente envía la versión que leyó, no se pisan cambios ajenos
+        if (updatedTicket.getVersion() != null && !updatedTicket.getVersion().equals(existingTicket.getVersion())) {
+            throw versionConflict(id);
+        }
 
         // 2. Actualizamos los campos RELEVANTES y EDITABLES del ticket existente
-        // Campos que NO se actualizan: id, ticketNumber (generado), createdAt
+        copyEditableFields(updatedTicket, existingTicket);
 
-        // 2.1 Campos de String/Textos
-        existingTicket.setRequesterName(updatedTicket.getRequesterName());
-        existingTicket.setCategory(updatedTicket.getCategory());
+        // 3. Guardamos y retornamos el ticket actualizado
+        SupportTicket saved = repository.save(existingTicket);
+        publish(TicketChangedEvent.Type.UPDATED, saved);
+        return saved;
+    }
 
-        // 2.2 Campos Enum
-        existingTicket.setStatus(updatedTicket.getStatus());
-        existingTicket.setPriority(updatedTicket.getPriority());
-        existingTicket.setCurrency(updatedTicket.getCurrency());
+    // ----------------------------------------------------
+    // U - UPDATE (Actualizar) - Parcial (PATCH)
+    // ----------------------------------------------------
+    @Override
+    @Transactional
+    public long patch(Long id, SupportTicketPatch patch) {
+        // UPDATE support_tickets SET <campos enviados>, version = v + 1 WHERE id = ? AND version = v
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<SupportTicket> update = criteriaBuilder.createCriteriaUpdate(SupportTicket.class);
+        Root<SupportTicket> root = update.from(SupportTicket.class);
 
-        // 2.3 Campos Numéricos/Fechas
-        // **IMPORTANTE**: Usamos setEstimatedCost, no setCost.
-        existingTicket.setEstimatedCost(updatedTicket.getEstimatedCost());
-        existingTicket.setDueDate(updatedTicket.getDueDate());
+        // '|' y no '||': se deben evaluar todos los campos
+        boolean changed = set(update, root, "requesterName", patch.requesterName())
+                | set(update, root, "status", patch.status())
+                | set(update, root, "priority", patch.priority())
+                | set(update, root, "category", patch.category())
+                | set(update, root, "estimatedCost", patch.estimatedCost())
+                | set(update, root, "currency", patch.currency())
+                | set(update, root, "dueDate", patch.dueDate());
+        if (!changed) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El PATCH no contiene campos para actualizar");
+        }
+        long newVersion = patch.version() + 1;
+        update.set(root.<Long>get("version"), newVersion);
+        update.where(
+                criteriaBuilder.equal(root.get("id"), id),
+                criteriaBuilder.equal(root.get("version"), patch.version()));
 
-        // 3. Guardamos y retornamos el ticket actualizado
-        return repository.save(existingTicket);
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            // Ninguna fila: no existe (404) o alguien la modificó antes (409). Solo en el camino de error.
+            if (!repository.existsById(id)) {
+                throw notFound(id);
+            }
+            throw versionConflict(id);
+        }
+        publish(TicketChangedEvent.Type.UPDATED, changes(id, patch, newVersion));
+        return newVersion;
+    }
+
+    // ----------------------------------------------------
+    // U - UPDATE (Actualizar) - Actualización masiva
+    // ----------------------------------------------------
+    @Override
+    public BulkResult updateAll(List<SupportTicket> tickets) {
+        checkBulkSize(tickets);
+        BulkItemResult[] results = new BulkItemResult[tickets.size()];
+
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < tickets.size(); i++) {
+            Map<String, String> errors = validate(tickets.get(i));
+            if (tickets.get(i) != null && tickets.get(i).getId() == null) {
+                errors.put("id", "El id es obligatorio en la actualización masiva");
+            }
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = new BulkItemResult(i, tickets.get(i) != null ? tickets.get(i).getId() : null, null, BulkItemResult.Outcome.INVALID, errors);
+            }
+        }
+
+        for (int start = 0; start < valid.size(); start += bulkBatchSize) {
+            List<Integer> chunk = valid.subList(start, Math.min(start + bulkBatchSize, valid.size()));
+            try {
+                // Un solo SELECT ... IN (...) por lote y UPDATEs agrupados en el flush
+                List<BulkItemResult> chunkResults = transactionTemplate.execute(tx -> {
+                    List<Long> ids = chunk.stream().map(i -> tickets.get(i).getId()).toList();
+                    Map<Long, SupportTicket> existing = repository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(SupportTicket::getId, Function.identity()));
+
+                    List<BulkItemResult> processed = new ArrayList<>();
+                    for (int i : chunk) {
+                        SupportTicket target = existing.get(tickets.get(i).getId());
+                        if (target == null) {
+                            processed.add(new BulkItemResult(i, tickets.get(i).getId(), null, BulkItemResult.Outcome.NOT_FOUND,
+                                    Map.of("id", "Ticket de soporte no encontrado con ID: " + tickets.get(i).getId())));
+                            continue;
+                        }
+                        // Igual que update: si el elemento trae la versión que leyó, no se pisan cambios ajenos
+                        Long version = tickets.get(i).getVersion();
+                        if (version != null && !version.equals(target.getVersion())) {
+                            processed.add(new BulkItemResult(i, target.getId(), target.getTicketNumber(), BulkItemResult.Outcome.CONFLICT,
+                                    Map.of("version", versionConflict(target.getId()).getReason())));
+                            continue;
+                        }
+                        copyEditableFields(tickets.get(i), target);
+                        processed.add(new BulkItemResult(i, target.getId(), target.getTicketNumber(), BulkItemResult.Outcome.UPDATED, Map.of()));
+                        publish(TicketChangedEvent.Type.UPDATED, target);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    return processed;
+                });
+                chunkResults.forEach(result -> results[result.index()] = result);
+            } catch (PersistenceException | DataAccessException ex) {
+                for (int i : chunk) {
+                    results[i] = new BulkItemResult(i, tickets.get(i).getId(), null, BulkItemResult.Outcome.FAILED,
+                            Map.of("ticket", "No se pudo actualizar el ticket"));
+                }
+            }
+        }
+        return BulkResult.of(Arrays.asList(results));
     }
 
     // ----------------------------------------------------
     // D - DELETE (Eliminar)
     // ----------------------------------------------------
     @Override
+    @Transactional
     public void delete(Long id) {
-        // Opcional: Verificar si el ticket existe antes de intentar borrar
-        if (!repository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket de soporte no encontrado con ID: " + id);
+        // Un solo DELETE: si no afectó filas, el ticket no existía
+        if (repository.deleteByIdReturningCount(id) == 0) {
+            throw notFound(id);
+        }
+        eventPublisher.publishEvent(new TicketChangedEvent(TicketChangedEvent.Type.DELETED, id, null));
+    }
+
+    // Aplica los candidatos del índice de trigramas; vacío si ya se sabe que no hay resultados
+    private Optional<Specification<SupportTicket>> narrowBySearchIndex(Specification<SupportTicket> spec, String q) {
+        Optional<Set<Long>> candidates = searchIndex.candidates(q);
+        if (candidates.isEmpty()) {
+            return Optional.of(spec);
+        }
+        if (candidates.get().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(spec.and(SupportTicketSpecification.idIn(candidates.get())));
+    }
+
+    // Notifica a los componentes en memoria; dentro de una transacción se entrega tras el commit
+    private void publish(TicketChangedEvent.Type type, SupportTicket ticket) {
+        eventPublisher.publishEvent(new TicketChangedEvent(type, ticket.getId(), ticket));
+    }
+
+    // Agrega "SET campo = valor" solo si el PATCH trae el campo
+    private static <T> boolean set(CriteriaUpdate<SupportTicket> update, Root<SupportTicket> root, String field, T value) {
+        if (value == null) {
+            return false;
+        }
+        update.set(root.<T>get(field), value);
+        return true;
+    }
+
+    // Ticket parcial para el evento: solo id, versión y los campos que cambiaron (el resto en null)
+    private static SupportTicket changes(Long id, SupportTicketPatch patch, long version) {
+        SupportTicket changes = new SupportTicket();
+        changes.setId(id);
+        changes.setVersion(version);
+        changes.setRequesterName(patch.requesterName());
+        changes.setStatus(patch.status());
+        changes.setPriority(patch.priority());
+        changes.setCategory(patch.category());
+        changes.setEstimatedCost(patch.estimatedCost());
+        changes.setCurrency(patch.currency());
+        changes.setDueDate(patch.dueDate());
+        return changes;
+    }
+
+    // 404, o 409 si el ticket existe pero ya está en el archivo (solo lectura). Solo en el camino de error.
+    private ResponseStatusException notFound(Long id) {
+        if (archiveRepository.existsById(id)) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "El ticket " + id + " está archivado y no se puede modificar");
+        }
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket de soporte no encontrado con ID: " + id);
+    }
+
+    private static ResponseStatusException versionConflict(Long id) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "El ticket " + id + " fue modificado por otro usuario; vuelva a leerlo e intente de nuevo");
+    }
+
+    // Campos que NO se actualizan: id, ticketNumber (generado), createdAt
+    private void copyEditableFields(SupportTicket source, SupportTicket target) {
+        // Campos de String/Textos
+        target.setRequesterName(source.getRequesterName());
+        target.setCategory(source.getCategory());
+
+        // Campos Enum
+        target.setStatus(source.getStatus());
+        target.setPriority(source.getPriority());
+        target.setCurrency(source.getCurrency());
+
+        // Campos Numéricos/Fechas
+        // **IMPORTANTE**: Usamos setEstimatedCost, no setCost.
+        target.setEstimatedCost(source.getEstimatedCost());
+        target.setDueDate(source.getDueDate());
+    }
+
+    // Mismas restricciones Jakarta que @Valid aplica en el endpoint individual
+    private Map<String, String> validate(SupportTicket ticket) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (ticket == null) {
+            errors.put("ticket", "El elemento no puede ser nulo");
+            return errors;
+        }
+        for (ConstraintViolation<SupportTicket> violation : validator.validate(ticket)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private void checkBulkSize(List<SupportTicket> tickets) {
+        if (tickets == null || tickets.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La lista de tickets no puede estar vacía");
+        }
+        if (tickets.size() > bulkMaxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se permiten como máximo " + bulkMaxItems + " tickets por petición");
+        }
+    }
+
+    // REGLA DE NEGOCIO: 'from' no puede ser posterior a 'to'
+    private void validateDateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            // Usamos ResponseStatusException para manejar errores HTTP
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La fecha 'from' no puede ser posterior a la fecha 'to'");
         }
-        repository.deleteById(id);
     }
-}
\ No newline at end of file
+}
@@ -4,15 +4,22 @@ package org.example.velasqueztupac_leecion1.service;
 import org.example.velasqueztupac_leecion1.model.Currency;
 import org.example.velasqueztupac_leecion1.model.SupportTicket;
 import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 public class SupportTicketSpecification {
 
+    // '!' y no '\\': en MySQL la barra también escapa dentro del literal y rompería el ESCAPE
+    private static final char LIKE_ESCAPE = '!';
+
     public static Specification<SupportTicket> filterBy(
             String q,
             TicketStatus status,
@@ -27,10 +34,11 @@ public class SupportTicketSpecification {
 
             // 1. Búsqueda de texto (ticketNumber O requesterName)
             // SQL equivalente: AND (LOWER(ticketNumber) LIKE %q% OR LOWER(requesterName) LIKE %q%)
+            // '%' y '_' dentro de q son texto, igual que para TicketSearchIndex
             if (q != null && !q.isEmpty()) {
-                String searchPattern = "%" + q.toLowerCase() + "%";
-                Predicate ticketNumberLike = criteriaBuilder.like(criteriaBuilder.lower(root.get("ticketNumber")), searchPattern);
-                Predicate requesterNameLike = criteriaBuilder.like(criteriaBuilder.lower(root.get("requesterName")), searchPattern);
+                String searchPattern = "%" + escapeLike(q.toLowerCase(Locale.ROOT)) + "%";
+                Predicate ticketNumberLike = criteriaBuilder.like(criteriaBuilder.lower(root.get("ticketNumber")), searchPattern, LIKE_ESCAPE);
+                Predicate requesterNameLike = criteriaBuilder.like(criteriaBuilder.lower(root.get("requesterName")), searchPattern, LIKE_ESCAPE);
                 predicates.add(criteriaBuilder.or(ticketNumberLike, requesterNameLike));
             }
 
@@ -69,4 +77,51 @@ public class SupportTicketSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    // Restringe el resultado a los candidatos del índice de búsqueda (TicketSearchIndex)
+    public static Specification<SupportTicket> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    // Predicado keyset: filas estrictamente posteriores al cursor según (sortField, id).
+    // SQL equivalente (ASC): sortField >= v AND (sortField > v OR (sortField = v AND id > lastId))
+    // El primer término es redundante, pero permite que el motor recorra el índice (sortField, id).
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<SupportTicket> seekAfter(SupportTicketCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.direction() == Sort.Direction.ASC;
+            Path<Long> id = root.get("id");
+
+            if ("id".equals(cursor.sortField())) {
+                return ascending
+                        ? criteriaBuilder.greaterThan(id, cursor.id())
+                        : criteriaBuilder.lessThan(id, cursor.id());
+            }
+
+            Path field = root.get(cursor.sortField());
+            Comparable value = cursor.value();
+            Predicate range = ascending
+                    ? criteriaBuilder.greaterThanOrEqualTo(field, value)
+                    : criteriaBuilder.lessThanOrEqualTo(field, value);
+            Predicate beyond = ascending
+                    ? criteriaBuilder.greaterThan(field, value)
+                    : criteriaBuilder.lessThan(field, value);
+            Predicate tie = criteriaBuilder.and(
+                    criteriaBuilder.equal(field, value),
+                    ascending ? criteriaBuilder.greaterThan(id, cursor.id()) : criteriaBuilder.lessThan(id, cursor.id()));
+
+            return criteriaBuilder.and(range, criteriaBuilder.or(beyond, tie));
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mueve a support_tickets_archive los tickets CLOSED o CANCELLED con más de min-age, para que
+ * la tabla activa (la de todos los listados por defecto) solo crezca con el trabajo en curso.
+ * <p>
+ * Cada lote es una transacción: bloquea las filas por ID volviendo a comprobar el estado (si un
+ * PATCH reabrió el ticket, se queda), las copia con INSERT ... SELECT y las borra de la tabla
+ * activa. La antigüedad se mide por createdAt: la tabla no guarda cuándo se cerró cada ticket.
+ * <p>
+ * No publica {@link TicketChangedEvent}: el ticket no cambia, solo de tabla. getById lo sigue
+ * encontrando, la búsqueda y las estadísticas cubren las dos tablas y los listados lo incluyen
+ * con includeArchived. {@link #generation()} avanza con cada lote para invalidar el ETag de
+ * los listados.
+ */
+@Component
+public class TicketArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketArchiver.class);
+
+    private static final String COLUMNS =
+            "id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date, version";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.tickets.archive.enabled:true}")
+    private boolean enabled;
+
+    // Antigüedad (desde createdAt) a partir de la cual un ticket cerrado o cancelado se archiva
+    @Value("${app.tickets.archive.min-age:90d}")
+    private Duration minAge;
+
+    // Tickets por transacción: acota el tiempo que las filas quedan bloqueadas
+    @Value("${app.tickets.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.tickets.archive.interval-ms:3600000}")
+    private long intervalMillis;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ticket-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Filas de cada tabla: COUNT(*) al arrancar y tras cada ejecución; entre medio, eventos y lotes
+    private final AtomicLong activeRows = new AtomicLong();
+    private final AtomicLong archivedRows = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long lastArchived;
+    private Counter moved;
+    private Timer batchTime;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.tickets.archive.batch-size debe ser positivo");
+        }
+        moved = Counter.builder("tickets.archive.moved")
+                .description("Tickets movidos de la tabla activa al archivo")
+                .register(registry);
+        batchTime = Timer.builder("tickets.archive.batch")
+                .description("Duración de cada lote de archivado (bloqueo, copia y borrado)")
+                .register(registry);
+        Gauge.builder("tickets.active.rows", activeRows, AtomicLong::get)
+                .description("Filas en la tabla activa (support_tickets)")
+                .register(registry);
+        Gauge.builder("tickets.archived.rows", archivedRows, AtomicLong::get)
+                .description("Filas en el archivo (support_tickets_archive)")
+                .register(registry);
+        countRows();
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::archiveQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.type() == TicketChangedEvent.Type.CREATED) {
+            activeRows.incrementAndGet();
+        } else if (event.type() == TicketChangedEvent.Type.DELETED) {
+            activeRows.decrementAndGet();
+        }
+    }
+
+    // Archiva todos los tickets que cumplen la condición, lote por lote. Devuelve cuántos movió.
+    public long archive() {
+        return archive(LocalDateTime.now().minus(minAge));
+    }
+
+    public long archive(LocalDateTime createdBefore) {
+        runLock.lock();
+        try {
+            long start = System.nanoTime();
+            long total = 0;
+            List<Long> candidates;
+            do {
+                // Sin bloqueo: solo elige el lote (índice status, created_at)
+                candidates = jdbcTemplate.queryForList(
+                        "SELECT id FROM support_tickets WHERE status IN ('CLOSED', 'CANCELLED') AND created_at < ? LIMIT ?",
+                        Long.class, Timestamp.valueOf(createdBefore), batchSize);
+                if (!candidates.isEmpty()) {
+                    total += moveBatch(candidates);
+                }
+            } while (candidates.size() == batchSize);
+            countRows();
+
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (total > 0) {
+                log.info("Archivados {} tickets en {} ms ({} tickets/s)", total, millis, total * 1000 / Math.max(1, millis));
+            }
+            return total;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // Cambia con cada lote archivado: forma parte del ETag de los listados
+    public long generation() {
+        return generation.get();
+    }
+
+    // Momento del último lote archivado (0 si ninguno)
+    public long lastArchived() {
+        return lastArchived;
+    }
+
+    private int moveBatch(List<Long> candidates) {
+        long start = System.nanoTime();
+        Integer count = transactionTemplate.execute(tx -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", candidates)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            // Bloqueo por clave primaria (solo estas filas) y nueva comprobación del estado
+            List<Long> locked = namedJdbcTemplate.queryForList(
+                    "SELECT id FROM support_tickets WHERE id IN (:ids) AND status IN ('CLOSED', 'CANCELLED') FOR UPDATE",
+                    params, Long.class);
+            if (locked.isEmpty()) {
+                return 0;
+            }
+            params.addValue("ids", locked);
+            namedJdbcTemplate.update("INSERT INTO support_tickets_archive (" + COLUMNS + ", archived_at) SELECT "
+                    + COLUMNS + ", :archivedAt FROM support_tickets WHERE id IN (:ids)", params);
+            return namedJdbcTemplate.update("DELETE FROM support_tickets WHERE id IN (:ids)", params);
+        });
+        batchTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (count > 0) {
+            moved.increment(count);
+            activeRows.addAndGet(-count);
+            archivedRows.addAndGet(count);
+            lastArchived = System.currentTimeMillis();
+            generation.incrementAndGet();
+        }
+        return count;
+    }
+
+    private void countRows() {
+        activeRows.set(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM support_tickets", Long.class));
+        archivedRows.set(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM support_tickets_archive", Long.class));
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.error("No se pudo completar el archivado de tickets", ex);
+        }
+    }
+}
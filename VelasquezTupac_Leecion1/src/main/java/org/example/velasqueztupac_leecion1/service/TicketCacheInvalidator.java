@@ -0,0 +1,32 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida la caché de lecturas por ID (ver {@code SupportTicketServiceImpl.getById})
+ * después de cada escritura confirmada, incluidas las masivas.
+ * <p>
+ * La caché es la abstracción de Spring: Caffeine en memoria por defecto, otra
+ * implementación (ej: Redis) cambiando spring.cache.type, o ninguna con
+ * spring.cache.type=none.
+ */
+@Component
+public class TicketCacheInvalidator {
+
+    public static final String CACHE_NAME = "supportTickets";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(event.id());
+        }
+    }
+}
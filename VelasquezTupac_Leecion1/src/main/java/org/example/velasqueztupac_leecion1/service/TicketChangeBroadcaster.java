@@ -0,0 +1,162 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.velasqueztupac_leecion1.dto.TicketChange;
+import org.example.velasqueztupac_leecion1.dto.TicketChangeDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Difunde el feed por Server-Sent Events. Cada suscriptor se atiende en su propio turno
+// del pool: un cliente lento no frena a los demás ni al hilo que confirmó la escritura.
+// El pool es fijo (sender-threads) y su cola acotada (sender-queue): con la cola llena se
+// corta al suscriptor, que reconecta con Last-Event-ID, en lugar de crear hilos sin límite.
+// Eventos: "change" (id = secuencia, data = TicketChange) y "resync" (el cliente se quedó
+// atrás del buffer: debe recargar la lista). El id permite reconectar con Last-Event-ID.
+@Component
+public class TicketChangeBroadcaster {
+
+    @Autowired
+    private TicketChangeFeed feed;
+
+    @Value("${app.tickets.changes.sse-timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.tickets.changes.heartbeat-ms:20000}")
+    private long heartbeatMillis;
+
+    @Value("${app.tickets.changes.sender-threads:8}")
+    private int senderThreads;
+
+    @Value("${app.tickets.changes.sender-queue:10000}")
+    private int senderQueue;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("ticket-changes-heartbeat"));
+    private ThreadPoolExecutor senders;
+
+    @PostConstruct
+    void start() {
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderQueue), daemon("ticket-changes-sse"));
+        feed.addListener(() -> subscribers.forEach(this::schedule));
+        // Comentario periódico: mantiene viva la conexión en proxies y detecta clientes caídos.
+        // Si el suscriptor ya tiene un envío pendiente, ese envío cumple la misma función
+        heartbeat.scheduleAtFixedRate(() -> subscribers.forEach(subscriber -> {
+            if (subscriber.pending.get() != 0) {
+                return;
+            }
+            try {
+                senders.execute(() -> {
+                    try {
+                        subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                    } catch (IOException | IllegalStateException e) {
+                        drop(subscriber, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Cola llena: basta con el próximo ping
+            }
+        }), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // since = null: solo cambios nuevos a partir de ahora
+    public SseEmitter subscribe(Long since) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, since != null ? since : feed.latest());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Contador de trabajo pendiente: a lo sumo un envío en curso por suscriptor, sin perder avisos
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.pending.getAndIncrement() == 0) {
+            try {
+                senders.execute(() -> {
+                    int seen;
+                    do {
+                        seen = subscriber.pending.get();
+                        pump(subscriber);
+                    } while (subscriber.pending.addAndGet(-seen) != 0);
+                });
+            } catch (RejectedExecutionException e) {
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    private void pump(Subscriber subscriber) {
+        try {
+            TicketChangeDelta delta;
+            do {
+                delta = feed.since(subscriber.lastSent);
+                if (delta.resyncRequired()) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").id(String.valueOf(delta.latest())).data(delta.latest()));
+                    subscriber.lastSent = delta.latest();
+                    return;
+                }
+                for (TicketChange change : delta.changes()) {
+                    subscriber.emitter.send(SseEmitter.event().name("change").id(String.valueOf(change.sequence())).data(change));
+                    subscriber.lastSent = change.sequence();
+                }
+            } while (delta.hasMore());
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicInteger pending = new AtomicInteger();
+        // Solo lo modifica el envío en curso (uno por suscriptor a la vez)
+        private volatile long lastSent;
+
+        private Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.dto.TicketChange;
+import org.example.velasqueztupac_leecion1.dto.TicketChangeDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed de cambios en memoria: cada escritura confirmada (TicketChangedEvent) recibe una
+ * secuencia creciente y se guarda en un buffer circular de 'capacity' posiciones.
+ * Los clientes piden solo lo que cambió desde su última secuencia en lugar de recargar la lista.
+ *
+ * La secuencia arranca en (milisegundos de arranque * 1000): sigue creciendo entre reinicios y
+ * cualquier secuencia de una ejecución anterior cae fuera del buffer, forzando un resync.
+ * El feed es por instancia; con varias réplicas cada cliente debe seguir a la misma.
+ */
+@Component
+public class TicketChangeFeed {
+
+    private final TicketChange[] buffer;
+    private final int maxBatch;
+    private final long start;
+    // Protege buffer y latest. ReentrantLock (no synchronized) para no fijar hilos virtuales.
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long latest;
+    private volatile long lastModified = System.currentTimeMillis();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public TicketChangeFeed(@Value("${app.tickets.changes.capacity:10000}") int capacity,
+                            @Value("${app.tickets.changes.max-batch:1000}") int maxBatch) {
+        this(capacity, maxBatch, System.currentTimeMillis() * 1000);
+    }
+
+    TicketChangeFeed(int capacity, int maxBatch, long start) {
+        if (capacity < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("app.tickets.changes.capacity y max-batch deben ser positivos");
+        }
+        this.buffer = new TicketChange[capacity];
+        this.maxBatch = maxBatch;
+        this.start = start;
+        this.latest = start;
+    }
+
+    // Tras el commit: la secuencia refleja el orden en que los cambios se hicieron visibles
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        SupportTicketView view = event.ticket() != null ? SupportTicketView.from(event.ticket()) : null;
+        append(event.type().name(), event.id(), view);
+        listeners.forEach(Runnable::run);
+    }
+
+    TicketChange append(String type, Long id, SupportTicketView ticket) {
+        lock.lock();
+        try {
+            TicketChange change = new TicketChange(latest + 1, type, id, ticket);
+            buffer[index(change.sequence())] = change;
+            latest = change.sequence();
+            lastModified = System.currentTimeMillis();
+            return change;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Cambios con secuencia > since, como máximo max-batch por respuesta
+    public TicketChangeDelta since(long since) {
+        return since(since, maxBatch);
+    }
+
+    public TicketChangeDelta since(long since, int limit) {
+        lock.lock();
+        try {
+            long oldest = Math.max(start + 1, latest - buffer.length + 1);
+            if (since > latest || since < oldest - 1) {
+                return new TicketChangeDelta(since, latest, true, false, List.of());
+            }
+            long last = Math.min(latest, since + Math.min(limit, maxBatch));
+            List<TicketChange> changes = new ArrayList<>((int) (last - since));
+            for (long sequence = since + 1; sequence <= last; sequence++) {
+                changes.add(buffer[index(sequence)]);
+            }
+            return new TicketChangeDelta(since, latest, false, last < latest, changes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long latest() {
+        return latest;
+    }
+
+    // Momento del último cambio (o del arranque): Last-Modified de los listados
+    public long lastModified() {
+        return lastModified;
+    }
+
+    // Se ejecuta (en el hilo que confirmó la escritura) después de cada cambio agregado
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private int index(long sequence) {
+        return (int) Math.floorMod(sequence, (long) buffer.length);
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+
+// Evento de dominio publicado por SupportTicketServiceImpl después de cada escritura.
+// Los componentes en memoria (índices, contadores) lo escuchan para mantenerse al día.
+// En DELETED, 'ticket' es null. En un PATCH (UPDATED parcial), 'ticket' solo trae id, versión
+// y los campos modificados: ticketNumber y los campos no enviados llegan en null.
+public record TicketChangedEvent(
+        Type type,
+        Long id,
+        SupportTicket ticket
+) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Representación CSV (RFC 4180) de un ticket. El orden de columnas es fijo y la
+ * primera línea del archivo es {@link #HEADER}. Al importar, las columnas se
+ * buscan por nombre, así que el orden del archivo puede variar.
+ */
+public final class TicketCsv {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "ticketNumber", "requesterName", "status", "priority",
+            "category", "estimatedCost", "currency", "createdAt", "dueDate");
+
+    public static final String HEADER = String.join(",", COLUMNS);
+
+    private TicketCsv() {
+    }
+
+    // ----------------------------------------------------
+    // Escritura
+    // ----------------------------------------------------
+
+    public static String toRow(SupportTicket ticket) {
+        return join(List.of(
+                text(ticket.getId()),
+                text(ticket.getTicketNumber()),
+                text(ticket.getRequesterName()),
+                text(ticket.getStatus()),
+                text(ticket.getPriority()),
+                text(ticket.getCategory()),
+                ticket.getEstimatedCost() != null ? ticket.getEstimatedCost().toPlainString() : "",
+                text(ticket.getCurrency()),
+                text(ticket.getCreatedAt()),
+                text(ticket.getDueDate())));
+    }
+
+    public static String join(List<String> values) {
+        StringBuilder row = new StringBuilder(128);
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            row.append(escape(values.get(i)));
+        }
+        return row.toString();
+    }
+
+    public static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        return quote ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    // ----------------------------------------------------
+    // Lectura
+    // ----------------------------------------------------
+
+    /**
+     * Lee el siguiente registro (admite comillas y saltos de línea dentro de un campo).
+     * Devuelve null al final del archivo.
+     */
+    public static List<String> readRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Convierte un registro en ticket según la cabecera. Los valores mal formados
+     * lanzan IllegalArgumentException con el nombre de la columna.
+     */
+    public static SupportTicket fromRecord(List<String> header, List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Se esperaban " + header.size() + " columnas y llegaron " + values.size());
+        }
+        SupportTicket ticket = new SupportTicket();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header.get(i).trim()) {
+                case "ticketNumber" -> ticket.setTicketNumber(value);
+                case "requesterName" -> ticket.setRequesterName(value);
+                case "status" -> ticket.setStatus(parse("status", value, TicketStatus::valueOf));
+                case "priority" -> ticket.setPriority(parse("priority", value, Priority::valueOf));
+                case "category" -> ticket.setCategory(value);
+                case "estimatedCost" -> ticket.setEstimatedCost(parse("estimatedCost", value, BigDecimal::new));
+                case "currency" -> ticket.setCurrency(parse("currency", value, Currency::valueOf));
+                case "createdAt" -> ticket.setCreatedAt(parse("createdAt", value, LocalDateTime::parse));
+                case "dueDate" -> ticket.setDueDate(parse("dueDate", value, LocalDate::parse));
+                default -> {
+                    // 'id' y columnas desconocidas se ignoran: el ID lo asigna la base de datos
+                }
+            }
+        }
+        return ticket;
+    }
+
+    private static <T> T parse(String column, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Valor inválido en '" + column + "': " + value);
+        }
+    }
+}
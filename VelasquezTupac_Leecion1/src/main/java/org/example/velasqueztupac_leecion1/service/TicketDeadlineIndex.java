@@ -0,0 +1,318 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.velasqueztupac_leecion1.dto.TicketDeadline;
+import org.example.velasqueztupac_leecion1.dto.TicketDeadlines;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice en memoria de las fechas límite (dueDate) de los tickets abiertos (OPEN, IN_PROGRESS).
+ * <p>
+ * dueDate es un día, así que basta una rueda de un solo nivel con una ranura por día (calendar
+ * queue): un TreeMap día -> IDs. Un ticket vence al terminar su dueDate. Cada ranura y el mapa
+ * ID -> día son {@link LongIntHashMap} (arreglos primitivos), unos 32 bytes por ticket abierto:
+ * un millón de tickets ocupa ~32 MB. Alta, baja y reprogramación son O(1) más el acceso a la
+ * ranura (O(log días)); vencer un día recorre solo su ranura.
+ * <p>
+ * Se carga al arrancar con una lectura de (id, due_date) y se mantiene con {@link TicketChangedEvent}.
+ * Un hilo revisa cada tick-ms si cambió el día y publica {@link TicketOverdueEvent} por cada
+ * ticket que venció. Los que ya estaban vencidos al arrancar no se vuelven a notificar.
+ */
+@Component
+public class TicketDeadlineIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketDeadlineIndex.class);
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.tickets.sla.tick-ms:60000}")
+    private long tickMillis;
+
+    // Protege todo el índice; ReentrantLock (no synchronized) para no fijar hilos virtuales
+    private final ReentrantLock lock = new ReentrantLock();
+    // ID -> día límite (epochDay)
+    private final LongIntHashMap dayById = new LongIntHashMap(1024);
+    // día límite (epochDay) -> IDs con ese día (el valor del mapa no se usa)
+    private final TreeMap<Integer, LongIntHashMap> slots = new TreeMap<>();
+    // Último día cuyos tickets ya se notificaron como vencidos
+    private long notifiedThrough = LocalDate.now().minusDays(1).toEpochDay();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ticket-sla-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Counter overdueFired;
+
+    // ----------------------------------------------------
+    // Consultas (sin acceso a la base de datos)
+    // ----------------------------------------------------
+
+    // Tickets abiertos cuyo dueDate ya terminó, los más atrasados primero
+    public TicketDeadlines overdue(int limit) {
+        long today = LocalDate.now().toEpochDay();
+        return collect(Integer.MIN_VALUE, (int) today - 1, limit);
+    }
+
+    // Tickets abiertos que vencen en las próximas 'hours' horas (y aún no vencieron).
+    // Vencer = terminar el día dueDate, así que entran los días [hoy, día de (ahora + hours) - 1].
+    public TicketDeadlines dueWithin(int hours, int limit) {
+        if (hours < 0) {
+            throw new IllegalArgumentException("El parámetro 'hours' no puede ser negativo");
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = LocalDateTime.now().plusHours(hours).toLocalDate().minusDays(1);
+        if (lastDay.isBefore(today)) {
+            return new TicketDeadlines(0, List.of());
+        }
+        return collect((int) today.toEpochDay(), (int) lastDay.toEpochDay(), limit);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return dayById.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TicketDeadlines collect(int fromDay, int toDay, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El parámetro 'limit' debe estar entre 1 y " + MAX_LIMIT);
+        }
+        lock.lock();
+        try {
+            long count = 0;
+            List<TicketDeadline> tickets = new ArrayList<>(limit);
+            for (Map.Entry<Integer, LongIntHashMap> slot : slots.subMap(fromDay, true, toDay, true).entrySet()) {
+                count += slot.getValue().size();
+                if (tickets.size() < limit) {
+                    LocalDate dueDate = LocalDate.ofEpochDay(slot.getKey());
+                    slot.getValue().forEachKey(id -> {
+                        if (tickets.size() < limit) {
+                            tickets.add(new TicketDeadline(id, dueDate));
+                        }
+                    });
+                }
+            }
+            return new TicketDeadlines(count, tickets);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ----------------------------------------------------
+    // Mantenimiento
+    // ----------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        SupportTicket ticket = event.ticket();
+        if (event.type() == TicketChangedEvent.Type.DELETED
+                || (ticket.getStatus() != null && !isOpen(ticket.getStatus()))) {
+            cancel(event.id());
+        } else if (ticket.getTicketNumber() != null) {
+            schedule(event.id(), ticket.getDueDate());
+        } else if (ticket.getDueDate() != null) {
+            // PATCH de la fecha: solo importa si el ticket está abierto (reabierto en el mismo PATCH, o ya indexado)
+            if (ticket.getStatus() != null || contains(event.id())) {
+                schedule(event.id(), ticket.getDueDate());
+            }
+        } else if (ticket.getStatus() != null && !contains(event.id())) {
+            // PATCH que reabre un ticket cerrado: la fecha se lee de la fila ya confirmada
+            jdbcTemplate.query("SELECT due_date FROM support_tickets WHERE id = ?",
+                    rs -> {
+                        schedule(event.id(), rs.getObject(1, LocalDate.class));
+                    },
+                    event.id());
+        }
+    }
+
+    // Carga completa: (id, due_date) de los tickets abiertos. Los eventos esperan a que termine.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        overdueFired = Counter.builder("tickets.sla.overdue")
+                .description("Tickets que superaron su fecha límite estando abiertos")
+                .register(registry);
+        Gauge.builder("tickets.sla.open", this, TicketDeadlineIndex::size)
+                .description("Tickets abiertos con fecha límite en el índice")
+                .register(registry);
+        load();
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    public void load() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            dayById.clear();
+            slots.clear();
+            jdbcTemplate.query(
+                    con -> {
+                        var statement = con.prepareStatement(
+                                "SELECT id, due_date FROM support_tickets WHERE status IN ('OPEN', 'IN_PROGRESS') AND due_date IS NOT NULL");
+                        statement.setFetchSize(1000);
+                        return statement;
+                    },
+                    rs -> {
+                        add(rs.getLong(1), (int) rs.getObject(2, LocalDate.class).toEpochDay());
+                    });
+            notifiedThrough = LocalDate.now().minusDays(1).toEpochDay();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Índice de fechas límite cargado: {} tickets abiertos en {} días, {} ms",
+                size(), slots.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void tick() {
+        try {
+            expire(LocalDate.now());
+        } catch (RuntimeException ex) {
+            log.error("No se pudieron procesar los tickets vencidos", ex);
+        }
+    }
+
+    // Notifica los tickets de los días ya terminados que aún no se notificaron. Devuelve cuántos.
+    int expire(LocalDate today) {
+        List<TicketOverdueEvent> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long lastDay = today.toEpochDay() - 1;
+            if (lastDay <= notifiedThrough) {
+                return 0;
+            }
+            NavigableMap<Integer, LongIntHashMap> due = slots.subMap((int) notifiedThrough, false, (int) lastDay, true);
+            due.forEach((day, ids) -> {
+                LocalDate dueDate = LocalDate.ofEpochDay(day);
+                ids.forEachKey(id -> expired.add(new TicketOverdueEvent(id, dueDate)));
+            });
+            notifiedThrough = lastDay;
+        } finally {
+            lock.unlock();
+        }
+        publish(expired);
+        return expired.size();
+    }
+
+    // Alta o reprogramación. Si la nueva fecha ya está vencida, se notifica en el acto.
+    void schedule(long id, LocalDate dueDate) {
+        if (dueDate == null) {
+            cancel(id);
+            return;
+        }
+        int day = (int) dueDate.toEpochDay();
+        boolean alreadyOverdue;
+        lock.lock();
+        try {
+            int previous = dayById.get(id);
+            if (previous == day) {
+                return;
+            }
+            if (previous != LongIntHashMap.MISSING) {
+                removeFromSlot(id, previous);
+            }
+            add(id, day);
+            alreadyOverdue = day <= notifiedThrough;
+        } finally {
+            lock.unlock();
+        }
+        if (alreadyOverdue) {
+            publish(List.of(new TicketOverdueEvent(id, dueDate)));
+        }
+    }
+
+    void cancel(long id) {
+        lock.lock();
+        try {
+            int previous = dayById.remove(id);
+            if (previous != LongIntHashMap.MISSING) {
+                removeFromSlot(id, previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean contains(long id) {
+        lock.lock();
+        try {
+            return dayById.get(id) != LongIntHashMap.MISSING;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(long id, int day) {
+        dayById.put(id, day);
+        slots.computeIfAbsent(day, key -> new LongIntHashMap(16)).put(id, 0);
+    }
+
+    // Las ranuras vacías se descartan: la memoria sigue a los tickets abiertos, no a los días vistos
+    private void removeFromSlot(long id, int day) {
+        LongIntHashMap slot = slots.get(day);
+        if (slot != null) {
+            slot.remove(id);
+            if (slot.size() == 0) {
+                slots.remove(day);
+            }
+        }
+    }
+
+    private void publish(List<TicketOverdueEvent> expired) {
+        for (TicketOverdueEvent event : expired) {
+            eventPublisher.publishEvent(event);
+        }
+        if (!expired.isEmpty()) {
+            if (overdueFired != null) {
+                overdueFired.increment(expired.size());
+            }
+            log.info("{} tickets superaron su fecha límite", expired.size());
+        }
+    }
+
+    private static boolean isOpen(TicketStatus status) {
+        return status == TicketStatus.OPEN || status == TicketStatus.IN_PROGRESS;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import java.util.Locale;
+
+// Formatos de exportación/importación masiva de tickets
+public enum TicketExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TicketExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    // Acepta el valor del query param sin distinguir mayúsculas (?format=csv)
+    public static TicketExportFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Formato no soportado: '" + value + "'. Valores permitidos: ndjson, csv");
+        }
+    }
+}
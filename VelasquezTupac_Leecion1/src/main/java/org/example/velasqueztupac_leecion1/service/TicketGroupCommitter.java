@@ -0,0 +1,273 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.velasqueztupac_leecion1.dto.BulkItemResult;
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.dto.QueuedTicketStatus;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Group commit para altas individuales (POST /support-tickets), activado con
+ * app.tickets.group-commit.enabled.
+ * <p>
+ * Cada petición deja su ticket en una cola acotada y un único hilo escritor junta lo que llegue
+ * durante max-wait-ms (o hasta max-batch tickets) en una sola transacción con batch JDBC, vía
+ * {@link SupportTicketService#createAll}. Así una ráfaga de cientos de altas por segundo cuesta
+ * unas pocas transacciones en lugar de una por ticket, y cada elemento conserva su propio
+ * resultado (CREATED / INVALID / FAILED).
+ * <p>
+ * El ticketNumber se asigna al encolar: el cliente puede esperar el commit (201, como antes) o
+ * pedir "Prefer: respond-async" y recibir 202 con la URL de estado al instante.
+ */
+@Service
+public class TicketGroupCommitter {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketGroupCommitter.class);
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private TicketNumberGenerator ticketNumbers;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.tickets.group-commit.enabled:false}")
+    private boolean enabled;
+
+    // Se confirma al llegar a max-batch tickets o max-wait-ms después del primero del lote
+    @Value("${app.tickets.group-commit.max-batch:200}")
+    private int maxBatch;
+
+    @Value("${app.tickets.group-commit.max-wait-ms:5}")
+    private long maxWaitMillis;
+
+    // Con la cola llena se responde 503: la base de datos no da abasto
+    @Value("${app.tickets.group-commit.queue-capacity:5000}")
+    private int queueCapacity;
+
+    // Espera máxima de una petición síncrona; si se agota, 202 con la URL de estado
+    @Value("${app.tickets.group-commit.sync-timeout-ms:5000}")
+    private long syncTimeoutMillis;
+
+    // Tiempo que se conserva el estado de cada ticket encolado para GET /queued/{ticketNumber}
+    @Value("${app.tickets.group-commit.status-ttl:10m}")
+    private Duration statusTtl;
+
+    private BlockingQueue<Pending> queue;
+    private Cache<String, QueuedTicketStatus> statuses;
+    private DistributionSummary commitSize;
+    private Timer queueWait;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        if (maxBatch < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("app.tickets.group-commit.max-batch y queue-capacity deben ser positivos");
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        statuses = Caffeine.newBuilder().expireAfterWrite(statusTtl).build();
+        Gauge.builder("tickets.create.queue.depth", queue, BlockingQueue::size)
+                .description("Altas esperando el próximo group commit")
+                .register(registry);
+        commitSize = DistributionSummary.builder("tickets.create.commit.size")
+                .description("Tickets confirmados por transacción de group commit")
+                .publishPercentileHistogram()
+                .register(registry);
+        queueWait = Timer.builder("tickets.create.queue.wait")
+                .description("Desde que se encola un alta hasta que su transacción se confirma")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        running = true;
+        writer = new Thread(this::drain, "ticket-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Deja de aceptar altas y confirma lo que ya estaba en la cola
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ----------------------------------------------------
+    // Entradas
+    // ----------------------------------------------------
+
+    // Encola el ticket (ya validado por el controlador) y asigna su ticketNumber si no traía uno
+    public CompletableFuture<SupportTicket> submit(SupportTicket ticket) {
+        if (!running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "El group commit no está activo");
+        }
+        if (ticket.getTicketNumber() == null || ticket.getTicketNumber().isEmpty()) {
+            ticket.setTicketNumber(ticketNumbers.next());
+        }
+        String ticketNumber = ticket.getTicketNumber();
+        if (statuses.asMap().putIfAbsent(ticketNumber, QueuedTicketStatus.queued(ticketNumber)) != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El ticketNumber " + ticketNumber + " ya está en la cola");
+        }
+        Pending pending = new Pending(ticket, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            statuses.invalidate(ticketNumber);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Cola de altas llena, reintente en unos segundos");
+        }
+        // El escritor se detuvo entre la comprobación de arriba y el offer: nadie vaciará la cola
+        if (!running && queue.remove(pending)) {
+            statuses.invalidate(ticketNumber);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "El group commit no está activo");
+        }
+        return pending.result();
+    }
+
+    // Espera el commit hasta sync-timeout-ms. Vacío si el ticket sigue en la cola
+    public Optional<SupportTicket> await(CompletableFuture<SupportTicket> result) {
+        try {
+            return Optional.of(result.get(syncTimeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException ex) {
+            return Optional.empty();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof ResponseStatusException status) {
+                throw status;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    public QueuedTicketStatus status(String ticketNumber) {
+        QueuedTicketStatus status = statuses == null ? null : statuses.getIfPresent(ticketNumber);
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No hay un alta en cola con ticketNumber " + ticketNumber);
+        }
+        return status;
+    }
+
+    // ----------------------------------------------------
+    // Hilo escritor
+    // ----------------------------------------------------
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException ex) {
+                // No se pudo ni intentar el lote (ej: base de datos caída): fallan sus elementos, no el hilo
+                log.error("Group commit de {} tickets fallido", batch.size(), ex);
+                batch.forEach(pending -> fail(pending, HttpStatus.SERVICE_UNAVAILABLE, "No se pudo guardar el ticket: " + ex.getMessage()));
+            } catch (Error ex) {
+                // Un Error (ej: OutOfMemoryError) deja el hilo en estado dudoso: se detiene, pero sin dejar
+                // altas esperando a un escritor que ya no existe. Las nuevas reciben 503 en submit
+                running = false;
+                log.error("Hilo de group commit detenido; las altas responderán 503 hasta reiniciar", ex);
+                batch.forEach(pending -> fail(pending, HttpStatus.SERVICE_UNAVAILABLE, "No se pudo guardar el ticket"));
+                Pending queued;
+                while ((queued = queue.poll()) != null) {
+                    fail(queued, HttpStatus.SERVICE_UNAVAILABLE, "No se pudo guardar el ticket");
+                }
+                throw ex;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        BulkResult result = service.createAll(batch.stream().map(Pending::ticket).collect(Collectors.toList()));
+        commitSize.record(result.succeeded());
+        long now = System.nanoTime();
+        for (BulkItemResult item : result.items()) {
+            Pending pending = batch.get(item.index());
+            queueWait.record(now - pending.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            if (item.succeeded()) {
+                SupportTicket saved = pending.ticket();
+                statuses.put(saved.getTicketNumber(), new QueuedTicketStatus(
+                        saved.getTicketNumber(), QueuedTicketStatus.State.CREATED, saved.getId(), Map.of()));
+                pending.result().complete(saved);
+            } else if (item.outcome() == BulkItemResult.Outcome.INVALID) {
+                complete(pending, QueuedTicketStatus.State.INVALID, item, HttpStatus.BAD_REQUEST);
+            } else {
+                complete(pending, QueuedTicketStatus.State.FAILED, item, HttpStatus.CONFLICT);
+            }
+        }
+    }
+
+    private void complete(Pending pending, QueuedTicketStatus.State state, BulkItemResult item, HttpStatus status) {
+        String ticketNumber = pending.ticket().getTicketNumber();
+        statuses.put(ticketNumber, new QueuedTicketStatus(ticketNumber, state, null, item.errors()));
+        pending.result().completeExceptionally(new ResponseStatusException(status, String.join("; ", item.errors().values())));
+    }
+
+    private void fail(Pending pending, HttpStatus status, String message) {
+        String ticketNumber = pending.ticket().getTicketNumber();
+        statuses.put(ticketNumber, new QueuedTicketStatus(ticketNumber, QueuedTicketStatus.State.FAILED, null,
+                Map.of("ticket", message)));
+        pending.result().completeExceptionally(new ResponseStatusException(status, message));
+    }
+
+    private record Pending(SupportTicket ticket, long enqueuedNanos, CompletableFuture<SupportTicket> result) {
+    }
+}
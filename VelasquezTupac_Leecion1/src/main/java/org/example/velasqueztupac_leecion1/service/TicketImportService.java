@@ -0,0 +1,425 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.velasqueztupac_leecion1.dto.BulkItemResult;
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.dto.ImportReport;
+import org.example.velasqueztupac_leecion1.model.ImportCheckpoint;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.ImportCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de tickets históricos (CSV / NDJSON) en cuatro etapas:
+ * <ol>
+ *     <li>Parser: lee el cuerpo de la petición o un archivo local en streaming.</li>
+ *     <li>Cola acotada: si la base de datos va más lenta, el parser se bloquea (backpressure).</li>
+ *     <li>Validación: mismas restricciones Jakarta que la entidad (vía {@link SupportTicketService#importChunk}).</li>
+ *     <li>Inserción por bloques: una transacción por bloque, que también avanza el checkpoint
+ *     ({@link ImportCheckpoint}): tras una caída, reanudar no repite filas ya guardadas.</li>
+ * </ol>
+ * Las filas rechazadas van a un archivo CSV (fila, errores, contenido original) en app.tickets.import.work-dir.
+ */
+@Service
+public class TicketImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketImportService.class);
+
+    private static final String REQUEST_BODY = "request-body";
+    private static final ParsedRow END = new ParsedRow(-1, null, null, null);
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ImportCheckpointRepository checkpoints;
+
+    // Filas confirmadas por transacción (y granularidad del checkpoint)
+    @Value("${app.tickets.import.chunk-size:1000}")
+    private int chunkSize;
+
+    // Capacidad de la cola entre el parser y la etapa de inserción
+    @Value("${app.tickets.import.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Solo se importan archivos locales dentro de este directorio
+    @Value("${app.tickets.import.base-dir:${user.home}/ticket-imports}")
+    private Path baseDir;
+
+    // Archivos de rechazados
+    @Value("${app.tickets.import.work-dir:${java.io.tmpdir}/ticket-imports}")
+    private Path workDir;
+
+    // Tiempo que un job terminado sigue en memoria (reporte completo); después solo queda el checkpoint
+    @Value("${app.tickets.import.finished-retention-ms:600000}")
+    private long finishedRetentionMillis;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    // ----------------------------------------------------
+    // Entradas
+    // ----------------------------------------------------
+
+    // Importa el cuerpo de la petición; termina cuando se consumió todo el stream.
+    // Para reanudar, el cliente reenvía el archivo con skip = lastCommittedRow.
+    public ImportReport importStream(InputStream in, TicketExportFormat format, long skip) {
+        ImportJob job = register(newJobId(), REQUEST_BODY, format, skip);
+        run(job, in);
+        return job.toReport();
+    }
+
+    // Importa un archivo local en segundo plano; el progreso se consulta con getReport
+    public ImportReport startFileImport(String path, TicketExportFormat format) {
+        Path file = resolveInBaseDir(path);
+        if (!Files.isReadable(file)) {
+            throw new IllegalArgumentException("No se puede leer el archivo: " + path);
+        }
+        ImportJob job = register(newJobId(), file.toString(), format, 0);
+        launch(job, file);
+        return job.toReport();
+    }
+
+    // Reanuda un archivo local desde el último bloque confirmado.
+    // Comprobar y registrar en un solo paso (compute): de dos reanudaciones simultáneas, una recibe 409.
+    // El checkpoint se lee dentro: el job anterior ya guardó el suyo antes de cerrarse.
+    public ImportReport resume(String jobId) {
+        evictFinishedJobs();
+        ImportJob job = jobs.compute(jobId, (id, current) -> {
+            if (current != null && !current.isClosed()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "La importación " + id + " sigue en curso");
+            }
+            ImportCheckpoint checkpoint = readCheckpoint(id);
+            String source = checkpoint.getSource();
+            if (REQUEST_BODY.equals(source)) {
+                throw new IllegalArgumentException("Una importación del cuerpo de la petición se reanuda reenviando el archivo con skip="
+                        + checkpoint.getLastCommittedRow());
+            }
+            ImportJob resumed = new ImportJob(id, source, TicketExportFormat.valueOf(checkpoint.getFormat()),
+                    checkpoint.getLastCommittedRow(), rejectsFile(id));
+            resumed.rowsImported.set(checkpoint.getRowsImported());
+            resumed.rowsRejected.set(checkpoint.getRowsRejected());
+            return resumed;
+        });
+        launch(job, Path.of(job.source()));
+        return job.toReport();
+    }
+
+    public ImportReport getReport(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job != null) {
+            return job.toReport();
+        }
+        // Tras un reinicio solo queda el checkpoint en la base de datos
+        ImportCheckpoint checkpoint = readCheckpoint(jobId);
+        ImportJob restored = new ImportJob(jobId, checkpoint.getSource(), TicketExportFormat.valueOf(checkpoint.getFormat()),
+                checkpoint.getLastCommittedRow(), rejectsFile(jobId));
+        restored.rowsImported.set(checkpoint.getRowsImported());
+        restored.rowsRejected.set(checkpoint.getRowsRejected());
+        restored.restore(ImportJob.Status.valueOf(checkpoint.getStatus()), checkpoint.getError());
+        return restored.toReport();
+    }
+
+    // ----------------------------------------------------
+    // Pipeline
+    // ----------------------------------------------------
+
+    private void launch(ImportJob job, Path file) {
+        Thread reader = new Thread(() -> {
+            try (InputStream in = Files.newInputStream(file)) {
+                run(job, in);
+            } catch (IOException ex) {
+                // No llegó a abrirse: run no corrió
+                job.fail(ex);
+                complete(job);
+            }
+        }, "ticket-import-parser-" + job.id());
+        reader.start();
+    }
+
+    // Etapa 1 en el hilo actual; etapas 3 y 4 en un hilo propio, unidas por la cola (etapa 2)
+    private void run(ImportJob job, InputStream in) {
+        BlockingQueue<ParsedRow> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Thread writer = new Thread(() -> consume(job, queue), "ticket-import-writer-" + job.id());
+        writer.start();
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+            if (job.format() == TicketExportFormat.CSV) {
+                parseCsv(job, reader, queue);
+            } else {
+                parseNdjson(job, reader, queue);
+            }
+        } catch (IOException | RuntimeException ex) {
+            job.fail(ex);
+        } catch (Error err) {
+            // El job igual se cierra como FAILED (finally); el Error sigue su curso
+            job.fail(err);
+            throw err;
+        } finally {
+            try {
+                while (writer.isAlive() && !queue.offer(END, 1, TimeUnit.SECONDS)) {
+                    // La etapa de inserción sigue vaciando la cola
+                }
+                writer.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                job.fail(ex);
+            }
+            complete(job);
+        }
+    }
+
+    // Estado final, checkpoint final y recién entonces se suelta el job (ver resume)
+    private void complete(ImportJob job) {
+        job.finish();
+        try {
+            writeCheckpoint(job);
+        } finally {
+            job.close();
+        }
+        ImportReport report = job.toReport();
+        log.info("Importación {} {}: {} filas leídas, {} importadas, {} rechazadas en {} ms ({} filas/s, pico de heap {} MB)",
+                job.id(), report.status(), report.rowsRead(), report.rowsImported(), report.rowsRejected(),
+                report.elapsedMillis(), report.rowsPerSecond(), report.peakHeapMb());
+    }
+
+    private void parseCsv(ImportJob job, BufferedReader reader, BlockingQueue<ParsedRow> queue) throws IOException {
+        List<String> header = TicketCsv.readRecord(reader);
+        if (header == null) {
+            return;
+        }
+        long row = 0;
+        List<String> record;
+        while ((record = TicketCsv.readRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (++row <= job.skip()) {
+                continue;
+            }
+            String raw = TicketCsv.join(record);
+            try {
+                enqueue(job, queue, new ParsedRow(row, raw, TicketCsv.fromRecord(header, record), null));
+            } catch (IllegalArgumentException ex) {
+                enqueue(job, queue, new ParsedRow(row, raw, null, ex.getMessage()));
+            }
+        }
+    }
+
+    private void parseNdjson(ImportJob job, BufferedReader reader, BlockingQueue<ParsedRow> queue) {
+        long row = 0;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (++row <= job.skip()) {
+                    continue;
+                }
+                try {
+                    enqueue(job, queue, new ParsedRow(row, line, objectMapper.readValue(line, SupportTicket.class), null));
+                } catch (JsonProcessingException ex) {
+                    enqueue(job, queue, new ParsedRow(row, line, null, "JSON inválido: " + ex.getOriginalMessage()));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Backpressure: bloquea mientras la cola está llena, salvo que la inserción haya fallado
+    private void enqueue(ImportJob job, BlockingQueue<ParsedRow> queue, ParsedRow row) {
+        try {
+            while (!queue.offer(row, 1, TimeUnit.SECONDS)) {
+                if (job.isFailed()) {
+                    throw new IllegalStateException("La etapa de inserción se detuvo");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida", ex);
+        }
+    }
+
+    private void consume(ImportJob job, BlockingQueue<ParsedRow> queue) {
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        long lastSeenRow = job.skip();
+        try (Writer rejects = openRejects(job)) {
+            while (true) {
+                ParsedRow row = queue.take();
+                if (row == END) {
+                    break;
+                }
+                job.rowsRead.incrementAndGet();
+                lastSeenRow = row.number();
+                if (row.error() != null) {
+                    reject(job, rejects, row, row.error());
+                    continue;
+                }
+                chunk.add(new PendingRow(row, job.rowsRejected.get()));
+                if (chunk.size() >= chunkSize) {
+                    commit(job, chunk, rejects, lastSeenRow);
+                }
+            }
+            commit(job, chunk, rejects, lastSeenRow);
+        } catch (Exception ex) {
+            job.fail(ex);
+        } catch (Error err) {
+            // Sin esto el job seguiría RUNNING: el parser esperaría para siempre en enqueue y resume daría 409
+            job.fail(err);
+            throw err;
+        }
+    }
+
+    private void commit(ImportJob job, List<PendingRow> chunk, Writer rejects, long lastSeenRow) throws IOException {
+        if (!chunk.isEmpty()) {
+            long importedBefore = job.rowsImported.get();
+            AtomicLong saved = new AtomicLong();
+            BulkResult result = service.importChunk(chunk.stream().map(pending -> pending.row().ticket()).collect(Collectors.toList()),
+                    indexes -> {
+                        // En la transacción de los tickets: las filas del bloque hasta el último índice
+                        // guardado que no se guardaron son rechazos (inválidas o fallidas)
+                        int last = indexes.get(indexes.size() - 1);
+                        long persisted = saved.get() + indexes.size();
+                        PendingRow pending = chunk.get(last);
+                        saveCheckpoint(job, pending.row().number(), importedBefore + persisted,
+                                pending.rejectedBefore() + (last + 1 - persisted));
+                        saved.set(persisted);
+                    });
+            for (BulkItemResult item : result.items()) {
+                if (item.succeeded()) {
+                    job.rowsImported.incrementAndGet();
+                } else {
+                    reject(job, rejects, chunk.get(item.index()).row(), item.errors().entrySet().stream()
+                            .map(error -> error.getKey() + ": " + error.getValue())
+                            .collect(Collectors.joining("; ")));
+                }
+            }
+            chunk.clear();
+        }
+        // Todo lo anterior a lastSeenRow quedó confirmado o en el archivo de rechazados
+        rejects.flush();
+        job.committedUpTo(lastSeenRow);
+        job.sampleHeap();
+        writeCheckpoint(job);
+    }
+
+    private void reject(ImportJob job, Writer rejects, ParsedRow row, String error) throws IOException {
+        job.rowsRejected.incrementAndGet();
+        rejects.write(TicketCsv.join(List.of(String.valueOf(row.number()), error, row.raw())));
+        rejects.write('\n');
+    }
+
+    // ----------------------------------------------------
+    // Checkpoints y archivos de trabajo
+    // ----------------------------------------------------
+
+    private ImportJob register(String jobId, String source, TicketExportFormat format, long skip) {
+        evictFinishedJobs();
+        ImportJob job = new ImportJob(jobId, source, format, skip, rejectsFile(jobId));
+        jobs.put(jobId, job);
+        return job;
+    }
+
+    // Se limpia al registrar: sin importaciones nuevas no crece
+    private void evictFinishedJobs() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(finishedRetentionMillis);
+        jobs.values().removeIf(job -> job.closedBefore(cutoff));
+    }
+
+    private Writer openRejects(ImportJob job) throws IOException {
+        Files.createDirectories(workDir);
+        boolean isNew = !Files.exists(job.rejectsFile());
+        BufferedWriter writer = Files.newBufferedWriter(job.rejectsFile(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (isNew) {
+            writer.write("row,errors,raw\n");
+        }
+        return writer;
+    }
+
+    // Estado completo del job, fuera de los bloques: tras filas rechazadas al final y al terminar
+    private void writeCheckpoint(ImportJob job) {
+        saveCheckpoint(job, job.lastCommittedRow(), job.rowsImported.get(), job.rowsRejected.get());
+    }
+
+    // Se une a la transacción en curso si la hay (la del bloque en importChunk)
+    private void saveCheckpoint(ImportJob job, long lastCommittedRow, long rowsImported, long rowsRejected) {
+        ImportCheckpoint checkpoint = new ImportCheckpoint();
+        checkpoint.setJobId(job.id());
+        checkpoint.setSource(job.source());
+        checkpoint.setFormat(job.format().name());
+        checkpoint.setStatus(job.status().name());
+        checkpoint.setLastCommittedRow(lastCommittedRow);
+        checkpoint.setRowsImported(rowsImported);
+        checkpoint.setRowsRejected(rowsRejected);
+        String error = job.error();
+        checkpoint.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpoints.saveAndFlush(checkpoint);
+    }
+
+    private ImportCheckpoint readCheckpoint(String jobId) {
+        return checkpoints.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Importación no encontrada: " + jobId));
+    }
+
+    private Path rejectsFile(String jobId) {
+        return workDir.resolve(jobId + "-rejects.csv");
+    }
+
+    private Path resolveInBaseDir(String path) {
+        Path base = baseDir.toAbsolutePath().normalize();
+        Path file = base.resolve(path).normalize();
+        if (!file.startsWith(base)) {
+            throw new IllegalArgumentException("El archivo debe estar dentro de " + base);
+        }
+        return file;
+    }
+
+    private static String newJobId() {
+        return UUID.randomUUID().toString();
+    }
+
+    // Fila ya parseada: 'ticket' o 'error', nunca ambos
+    private record ParsedRow(long number, String raw, SupportTicket ticket, String error) {
+    }
+
+    // Fila válida a la espera de su bloque, con los rechazos acumulados hasta ella
+    private record PendingRow(ParsedRow row, long rejectedBefore) {
+    }
+}
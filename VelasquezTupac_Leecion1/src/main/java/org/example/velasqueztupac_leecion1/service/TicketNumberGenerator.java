@@ -0,0 +1,8 @@
+package org.example.velasqueztupac_leecion1.service;
+
+// Estrategia para generar el ticketNumber cuando el cliente no lo envía.
+// Para cambiarla basta con registrar otro bean de este tipo (@Primary).
+public interface TicketNumberGenerator {
+
+    String next();
+}
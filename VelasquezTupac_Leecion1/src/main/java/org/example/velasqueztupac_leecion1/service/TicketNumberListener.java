@@ -0,0 +1,22 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import jakarta.persistence.PrePersist;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Asigna el ticketNumber antes del INSERT si el cliente no lo envió.
+// Hibernate obtiene este listener del contexto de Spring (SpringBeanContainer).
+@Component
+public class TicketNumberListener {
+
+    @Autowired
+    private TicketNumberGenerator generator;
+
+    @PrePersist
+    public void assignTicketNumber(SupportTicket ticket) {
+        if (ticket.getTicketNumber() == null || ticket.getTicketNumber().isEmpty()) {
+            ticket.setTicketNumber(generator.next());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import java.time.LocalDate;
+
+// Publicado por TicketDeadlineIndex cuando un ticket abierto supera su fecha límite
+// (al terminar el día 'dueDate', o al abrirse/reprogramarse con una fecha ya vencida).
+public record TicketOverdueEvent(
+        Long id,
+        LocalDate dueDate
+) {
+}
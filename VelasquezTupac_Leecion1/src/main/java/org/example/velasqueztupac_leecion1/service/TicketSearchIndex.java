@@ -0,0 +1,209 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas en memoria sobre ticketNumber y requesterName.
+ * <p>
+ * El filtro 'q' de {@link SupportTicketSpecification} usa LIKE '%q%', que ningún
+ * índice B-tree puede resolver. Este índice reduce el universo a un conjunto de
+ * IDs candidatos antes de ejecutar la consulta; el LIKE se sigue aplicando sobre
+ * esos candidatos, así que un falso positivo del índice nunca llega al resultado.
+ * <p>
+ * Se reconstruye al arrancar y se mantiene con {@link TicketChangedEvent}. Incluye los
+ * tickets archivados (el archivado no publica eventos), para que includeArchived también
+ * pueda buscar con 'q'.
+ */
+@Component
+public class TicketSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketSearchIndex.class);
+
+    private static final int GRAM = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // trigrama -> IDs que lo contienen
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    // ID -> trigramas indexados (para poder retirarlos en update/delete)
+    private final Map<Long, Set<String>> gramsById = new ConcurrentHashMap<>();
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+    // Una reconstrucción a la vez. ReentrantLock (no synchronized): la lectura JDBC bajo un monitor
+    // fijaría el hilo virtual a su portador durante toda la consulta
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.tickets.search.enabled:true}")
+    private boolean enabled;
+
+    // Si hay más candidatos que esto, un IN (...) ya no compensa: se deja el LIKE solo
+    @Value("${app.tickets.search.max-candidates:1000}")
+    private int maxCandidates;
+
+    // ----------------------------------------------------
+    // Consulta
+    // ----------------------------------------------------
+
+    /**
+     * IDs que podrían contener {@code q}. Vacío (Optional.empty) significa que el
+     * índice no puede acotar la búsqueda y debe usarse solo el LIKE.
+     */
+    public Optional<Set<Long>> candidates(String q) {
+        if (!enabled || !ready.get() || q == null) {
+            return Optional.empty();
+        }
+        Set<String> grams = grams(normalize(q));
+        if (grams.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Intersección empezando por la lista de posteo más corta
+        List<Set<Long>> lists = grams.stream()
+                .map(gram -> postings.getOrDefault(gram, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        if (lists.get(0).size() > maxCandidates) {
+            return Optional.empty();
+        }
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return Optional.of(result);
+    }
+
+    public boolean isReady() {
+        return ready.get();
+    }
+
+    public int size() {
+        return gramsById.size();
+    }
+
+    // ----------------------------------------------------
+    // Mantenimiento
+    // ----------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.type() == TicketChangedEvent.Type.DELETED) {
+            remove(event.id());
+        } else if (event.ticket().getTicketNumber() != null) {
+            index(event.id(), event.ticket().getTicketNumber(), event.ticket().getRequesterName());
+        } else if (event.ticket().getRequesterName() != null) {
+            // PATCH del nombre: el evento no trae ticketNumber, se relee la fila ya confirmada
+            jdbcTemplate.query("SELECT ticket_number, requester_name FROM support_tickets WHERE id = ?",
+                    rs -> {
+                        index(event.id(), rs.getString(1), rs.getString(2));
+                    },
+                    event.id());
+        }
+    }
+
+    // Reconstrucción completa al arrancar: una sola lectura secuencial de las dos columnas.
+    // Mientras dura, candidates() no acota y las búsquedas usan solo el LIKE.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        ready.set(false);
+        postings.clear();
+        gramsById.clear();
+        jdbcTemplate.query(
+                con -> {
+                    var statement = con.prepareStatement("""
+                            SELECT id, ticket_number, requester_name FROM support_tickets
+                            UNION ALL
+                            SELECT id, ticket_number, requester_name FROM support_tickets_archive""");
+                    statement.setFetchSize(1000);
+                    return statement;
+                },
+                rs -> {
+                    // Si un evento ya indexó este ID, su versión es más reciente que la leída aquí
+                    long id = rs.getLong(1);
+                    if (!gramsById.containsKey(id)) {
+                        index(id, rs.getString(2), rs.getString(3));
+                    }
+                });
+        ready.set(true);
+        log.info("Índice de búsqueda reconstruido: {} tickets, {} trigramas en {} ms",
+                gramsById.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void index(Long id, String ticketNumber, String requesterName) {
+        Set<String> grams = grams(normalize(ticketNumber));
+        grams.addAll(grams(normalize(requesterName)));
+        Set<String> previous = gramsById.put(id, grams);
+        if (previous != null) {
+            previous.stream().filter(gram -> !grams.contains(gram)).forEach(gram -> unlink(gram, id));
+        }
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    void remove(Long id) {
+        Set<String> previous = gramsById.remove(id);
+        if (previous != null) {
+            previous.forEach(gram -> unlink(gram, id));
+        }
+    }
+
+    private void unlink(String gram, Long id) {
+        postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // Misma semántica que LOWER(...) en la Specification, sin tildes (collation *_ai_ci de MySQL)
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
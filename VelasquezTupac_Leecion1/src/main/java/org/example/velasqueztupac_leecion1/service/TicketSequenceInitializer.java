@@ -0,0 +1,65 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alinea support_tickets_seq con los IDs ya existentes antes del primer INSERT.
+ * <p>
+ * El ID pasó de IDENTITY a una secuencia; en una base de datos anterior, ddl-auto=update la crea
+ * empezando en 1 y las primeras altas chocarían con las claves existentes. Al arrancar (tras el
+ * esquema de Hibernate y antes de que Tomcat acepte peticiones) se lleva la secuencia por encima
+ * de MAX(id) de la tabla activa y del archivo. Solo avanza: si ya está más arriba no la toca, así
+ * que varias instancias pueden arrancar a la vez.
+ * <p>
+ * MySQL no tiene secuencias: Hibernate la emula con la tabla support_tickets_seq(next_val).
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TicketSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketSequenceInitializer.class);
+
+    // allocationSize de SupportTicket: el optimizador pooled usa el bloque (valor - 50, valor]
+    static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("""
+                SELECT MAX(id) FROM (
+                    SELECT MAX(id) AS id FROM support_tickets
+                    UNION ALL
+                    SELECT MAX(id) AS id FROM support_tickets_archive
+                ) ids""", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Todo el primer bloque que reserve Hibernate queda por encima de MAX(id)
+        long next = maxId + ALLOCATION_SIZE + 1;
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        int changed;
+        if ("MySQL".equalsIgnoreCase(database)) {
+            changed = jdbcTemplate.update("UPDATE support_tickets_seq SET next_val = ? WHERE next_val < ?", next, next);
+        } else {
+            // H2 (pruebas): secuencia real; BASE_VALUE es el próximo valor que entregará
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'SUPPORT_TICKETS_SEQ'", Long.class);
+            changed = current != null && current < next ? 1 : 0;
+            if (changed == 1) {
+                jdbcTemplate.execute("ALTER SEQUENCE support_tickets_seq RESTART WITH " + next);
+            }
+        }
+        if (changed > 0) {
+            log.info("support_tickets_seq avanzada a {} (MAX(id) existente: {})", next, maxId);
+        }
+    }
+}
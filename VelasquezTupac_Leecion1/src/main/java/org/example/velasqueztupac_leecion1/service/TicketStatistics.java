@@ -0,0 +1,368 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.velasqueztupac_leecion1.dto.TicketCostStats;
+import org.example.velasqueztupac_leecion1.dto.TicketStats;
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Estadísticas del tablero (GET /stats) mantenidas en memoria, sin GROUP BY por consulta:
+ * <ul>
+ *     <li>tickets por estado x prioridad</li>
+ *     <li>suma y promedio de estimatedCost por moneda y categoría</li>
+ * </ul>
+ * Los contadores son LongAdder (con franjas por hilo, sin contención entre escrituras) y se
+ * agrupan también por día de creación, para poder filtrar por rango de fechas.
+ * <p>
+ * Se actualizan con {@link TicketChangedEvent}. Para restar los valores anteriores en un
+ * UPDATE o DELETE se guarda la fila mínima de cada ticket (estado, prioridad, moneda,
+ * categoría, costo, día). Cada reconcile-interval-ms los contadores se recalculan desde la
+ * base de datos, lo que corrige escrituras hechas por fuera del servicio. Los tickets
+ * archivados (TicketArchiver) siguen contando: se leen las dos tablas.
+ */
+@Component
+public class TicketStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketStatistics.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.tickets.stats.reconcile-interval-ms:600000}")
+    private long reconcileIntervalMillis;
+
+    // Lectura: eventos (concurrentes entre sí). Escritura: cambio de estado tras reconciliar.
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ticket-stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Counters current = new Counters();
+    // Eventos recibidos mientras se relee la base: se reaplican sobre los contadores nuevos
+    private Queue<TicketChangedEvent> replay;
+    private volatile LocalDateTime reconciledAt;
+
+    // ----------------------------------------------------
+    // Consulta
+    // ----------------------------------------------------
+
+    // from / to: días de creación, inclusive; null = sin límite
+    public TicketStats stats(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("La fecha 'from' no puede ser posterior a la fecha 'to'");
+        }
+        Counters counters = current;
+        List<Bucket> buckets;
+        if (from == null && to == null) {
+            buckets = List.of(counters.total);
+        } else {
+            NavigableMap<LocalDate, Bucket> days = counters.days;
+            if (from != null) {
+                days = days.tailMap(from, true);
+            }
+            if (to != null) {
+                days = days.headMap(to, true);
+            }
+            buckets = new ArrayList<>(days.values());
+        }
+        return summarize(from, to, buckets);
+    }
+
+    // ----------------------------------------------------
+    // Mantenimiento
+    // ----------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            apply(current, event);
+            if (replay != null) {
+                replay.add(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcile();
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly,
+                reconcileIntervalMillis, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        reconciler.shutdownNow();
+    }
+
+    // Recalcula todo con una lectura secuencial de la tabla y reemplaza los contadores.
+    // Las estadísticas siguen respondiendo (con los contadores anteriores) mientras dura.
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            long start = System.nanoTime();
+            swapLock.writeLock().lock();
+            try {
+                replay = new ConcurrentLinkedQueue<>();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            Counters fresh = new Counters();
+            jdbcTemplate.query(
+                    con -> {
+                        var statement = con.prepareStatement("""
+                                SELECT id, status, priority, currency, category, estimated_cost, created_at FROM support_tickets
+                                UNION ALL
+                                SELECT id, status, priority, currency, category, estimated_cost, created_at FROM support_tickets_archive""");
+                        statement.setFetchSize(1000);
+                        return statement;
+                    },
+                    rs -> {
+                        fresh.put(rs.getLong(1), row(rs));
+                    });
+
+            long drift;
+            swapLock.writeLock().lock();
+            try {
+                replay.forEach(event -> apply(fresh, event));
+                replay = null;
+                drift = fresh.total.tickets() - current.total.tickets();
+                current = fresh;
+                reconciledAt = LocalDateTime.now();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            if (drift != 0) {
+                log.warn("Estadísticas reconciliadas con diferencia de {} tickets respecto a la base de datos", drift);
+            }
+            log.debug("Estadísticas reconciliadas: {} tickets en {} ms", fresh.rows.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.error("No se pudieron reconciliar las estadísticas", ex);
+        }
+    }
+
+    private void apply(Counters counters, TicketChangedEvent event) {
+        if (event.type() == TicketChangedEvent.Type.DELETED) {
+            counters.put(event.id(), null);
+            return;
+        }
+        SupportTicket ticket = event.ticket();
+        boolean complete = ticket.getTicketNumber() != null;
+        // PATCH solo trae los campos modificados; el día de creación nunca cambia. La mezcla se hace
+        // dentro de compute, sobre la fila vigente: dos PATCH del mismo ticket a campos distintos
+        // no pueden partir los dos de la misma fila anterior (el último pisaría al otro)
+        Row updated = counters.update(event.id(),
+                previous -> previous != null ? previous.merge(ticket) : complete ? Row.of(ticket) : null);
+        if (updated == null && !complete) {
+            // PATCH de un ticket que estos contadores aún no conocen: se lee la fila ya confirmada
+            // (fuera de compute: sin consultas con el mapa bloqueado)
+            Row loaded = jdbcTemplate.query(
+                    "SELECT id, status, priority, currency, category, estimated_cost, created_at FROM support_tickets WHERE id = ?",
+                    rs -> rs.next() ? row(rs) : null,
+                    event.id());
+            if (loaded != null) {
+                counters.update(event.id(), previous -> previous != null ? previous.merge(ticket) : loaded);
+            }
+        }
+    }
+
+    private static Row row(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp(7);
+        return new Row(
+                TicketStatus.valueOf(rs.getString(2)),
+                Priority.valueOf(rs.getString(3)),
+                Currency.valueOf(rs.getString(4)),
+                rs.getString(5),
+                cents(rs.getBigDecimal(6)),
+                createdAt != null ? createdAt.toLocalDateTime().toLocalDate() : null);
+    }
+
+    // El costo se acumula en centavos (la columna tiene escala 2): suma exacta con LongAdder
+    private static long cents(BigDecimal cost) {
+        return cost == null ? 0 : cost.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private TicketStats summarize(LocalDate from, LocalDate to, List<Bucket> buckets) {
+        Map<TicketStatus, Map<Priority, Long>> byStatusAndPriority = new EnumMap<>(TicketStatus.class);
+        long total = 0;
+        for (TicketStatus status : TicketStatus.values()) {
+            Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                long count = 0;
+                for (Bucket bucket : buckets) {
+                    count += bucket.counts[status.ordinal()][priority.ordinal()].sum();
+                }
+                byPriority.put(priority, count);
+                total += count;
+            }
+            byStatusAndPriority.put(status, byPriority);
+        }
+
+        Map<CostKey, long[]> costs = new TreeMap<>(CostKey.ORDER);
+        for (Bucket bucket : buckets) {
+            bucket.costs.forEach((key, cost) -> {
+                long[] sums = costs.computeIfAbsent(key, k -> new long[2]);
+                sums[0] += cost.tickets.sum();
+                sums[1] += cost.cents.sum();
+            });
+        }
+        List<TicketCostStats> costStats = new ArrayList<>(costs.size());
+        costs.forEach((key, sums) -> {
+            if (sums[0] > 0) {
+                BigDecimal sum = BigDecimal.valueOf(sums[1], 2);
+                costStats.add(new TicketCostStats(key.currency(), key.category(), sums[0], sum,
+                        sum.divide(BigDecimal.valueOf(sums[0]), 2, RoundingMode.HALF_UP)));
+            }
+        });
+        return new TicketStats(from, to, total, byStatusAndPriority, costStats, reconciledAt);
+    }
+
+    // ----------------------------------------------------
+    // Estructuras
+    // ----------------------------------------------------
+
+    // Fila mínima de un ticket: lo necesario para restarlo de los contadores
+    private record Row(TicketStatus status, Priority priority, Currency currency, String category, long cents, LocalDate day) {
+
+        static Row of(SupportTicket ticket) {
+            return new Row(ticket.getStatus(), ticket.getPriority(), ticket.getCurrency(), ticket.getCategory(),
+                    TicketStatistics.cents(ticket.getEstimatedCost()),
+                    ticket.getCreatedAt() != null ? ticket.getCreatedAt().toLocalDate() : null);
+        }
+
+        Row merge(SupportTicket changes) {
+            return new Row(
+                    changes.getStatus() != null ? changes.getStatus() : status,
+                    changes.getPriority() != null ? changes.getPriority() : priority,
+                    changes.getCurrency() != null ? changes.getCurrency() : currency,
+                    changes.getCategory() != null ? changes.getCategory() : category,
+                    changes.getEstimatedCost() != null ? TicketStatistics.cents(changes.getEstimatedCost()) : cents,
+                    day);
+        }
+    }
+
+    private record CostKey(Currency currency, String category) {
+
+        static final Comparator<CostKey> ORDER = Comparator.comparing(CostKey::currency).thenComparing(CostKey::category);
+    }
+
+    private static final class CostSum {
+        final LongAdder tickets = new LongAdder();
+        final LongAdder cents = new LongAdder();
+    }
+
+    private static final class Bucket {
+        final LongAdder[][] counts = new LongAdder[TicketStatus.values().length][Priority.values().length];
+        final Map<CostKey, CostSum> costs = new ConcurrentHashMap<>();
+
+        Bucket() {
+            for (LongAdder[] byPriority : counts) {
+                for (int p = 0; p < byPriority.length; p++) {
+                    byPriority[p] = new LongAdder();
+                }
+            }
+        }
+
+        void add(Row row, int sign) {
+            counts[row.status().ordinal()][row.priority().ordinal()].add(sign);
+            CostSum cost = costs.computeIfAbsent(new CostKey(row.currency(), row.category()), key -> new CostSum());
+            cost.tickets.add(sign);
+            cost.cents.add(sign * row.cents());
+        }
+
+        long tickets() {
+            long tickets = 0;
+            for (LongAdder[] byPriority : counts) {
+                for (LongAdder count : byPriority) {
+                    tickets += count.sum();
+                }
+            }
+            return tickets;
+        }
+    }
+
+    private static final class Counters {
+        final Map<Long, Row> rows = new ConcurrentHashMap<>();
+        final Bucket total = new Bucket();
+        final ConcurrentSkipListMap<LocalDate, Bucket> days = new ConcurrentSkipListMap<>();
+
+        // Reemplaza la fila de un ticket (null = borrado)
+        void put(Long id, Row row) {
+            update(id, previous -> row);
+        }
+
+        // Fila nueva a partir de la vigente (null = sin fila / borrado). compute() serializa los
+        // cambios del mismo ID: 'change' siempre ve el resultado del anterior.
+        Row update(Long id, UnaryOperator<Row> change) {
+            return rows.compute(id, (key, previous) -> {
+                Row row = change.apply(previous);
+                if (previous != null) {
+                    add(previous, -1);
+                }
+                if (row != null) {
+                    add(row, 1);
+                }
+                return row;
+            });
+        }
+
+        private void add(Row row, int sign) {
+            total.add(row, sign);
+            if (row.day() != null) {
+                days.computeIfAbsent(row.day(), day -> new Bucket()).add(row, sign);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Generador estilo Snowflake/TSID: 63 bits = 41 de tiempo (ms desde 2024-01-01) | 10 de nodo | 12 de secuencia.
+// - Ordenado en el tiempo: los números de un mismo nodo crecen siempre (también como texto).
+// - Sin colisiones: nodo + secuencia hacen único cada número (un aleatorio corto choca por cumpleaños).
+// - Sin bloqueos ni SecureRandom: un único compareAndSet por número.
+// Formato: "ST-" + 13 caracteres Base32 de Crockford (sin I, L, O ni U), p. ej. ST-0DJ7K2M4T81Q4
+@Component
+public class TsidTicketNumberGenerator implements TicketNumberGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(TsidTicketNumberGenerator.class);
+
+    static final String PREFIX = "ST-";
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long node;
+    private final LongSupplier clock;
+
+    // (milisegundo << SEQUENCE_BITS) | secuencia del último número emitido
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public TsidTicketNumberGenerator(@Value("${app.tickets.number.node-id:-1}") int nodeId) {
+        this(nodeId < 0 ? defaultNodeId() : nodeId, System::currentTimeMillis);
+        log.info("Generador de ticketNumber: nodo {}", node);
+    }
+
+    TsidTicketNumberGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("app.tickets.number.node-id debe estar entre 0 y " + MAX_NODE);
+        }
+        this.node = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String next() {
+        return encode(nextId());
+    }
+
+    long nextId() {
+        long now = clock.getAsLong() - EPOCH;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            // Nuevo milisegundo: secuencia a 0. Mismo milisegundo (o reloj que retrocede): +1;
+            // si la secuencia se agota, el acarreo pasa al milisegundo siguiente sin esperar
+            next = now > (previous >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : previous + 1;
+        } while (!state.compareAndSet(previous, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    // Longitud fija: el orden alfabético coincide con el numérico
+    static String encode(long id) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    // Sin configuración explícita: hash de host + PID. Con varias réplicas conviene fijar
+    // app.tickets.number.node-id para garantizar nodos distintos.
+    private static int defaultNodeId() {
+        String identity;
+        try {
+            identity = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            identity = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return Math.floorMod(identity.hashCode(), MAX_NODE + 1);
+    }
+}
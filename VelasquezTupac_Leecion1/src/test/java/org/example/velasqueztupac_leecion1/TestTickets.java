@@ -0,0 +1,36 @@
+package org.example.velasqueztupac_leecion1;
+
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Ticket válido de referencia para las pruebas; cada prueba ajusta con setters solo lo que le importa.
+public final class TestTickets {
+
+    private TestTickets() {
+    }
+
+    public static SupportTicket ticket(String requester) {
+        return ticket(requester, TicketStatus.OPEN);
+    }
+
+    public static SupportTicket ticket(String requester, TicketStatus status) {
+        return ticket(requester, status, LocalDate.now().plusDays(3));
+    }
+
+    public static SupportTicket ticket(String requester, TicketStatus status, LocalDate dueDate) {
+        SupportTicket ticket = new SupportTicket();
+        ticket.setRequesterName(requester);
+        ticket.setStatus(status);
+        ticket.setPriority(Priority.MEDIUM);
+        ticket.setCategory("Red");
+        ticket.setEstimatedCost(new BigDecimal("25.50"));
+        ticket.setCurrency(Currency.USD);
+        ticket.setDueDate(dueDate);
+        return ticket;
+    }
+}
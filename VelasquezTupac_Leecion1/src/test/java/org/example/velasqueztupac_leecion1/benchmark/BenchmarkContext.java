@@ -0,0 +1,38 @@
+package org.example.velasqueztupac_leecion1.benchmark;
+
+import org.example.velasqueztupac_leecion1.TestTickets;
+import org.example.velasqueztupac_leecion1.VelasquezTupacLeecion1Application;
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Arranca la aplicación real (sin servidor web) sobre la H2 embebida de src/test/resources,
+// para medir los mismos beans que corren en producción.
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(VelasquezTupacLeecion1Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    static SupportTicket ticket(int i) {
+        SupportTicket ticket = TestTickets.ticket("Solicitante " + i,
+                i % 3 == 0 ? TicketStatus.OPEN : TicketStatus.CLOSED, LocalDate.of(2030, 1, 1));
+        ticket.setEstimatedCost(BigDecimal.valueOf(i % 500));
+        ticket.setCurrency(i % 2 == 0 ? Currency.USD : Currency.EUR);
+        return ticket;
+    }
+}
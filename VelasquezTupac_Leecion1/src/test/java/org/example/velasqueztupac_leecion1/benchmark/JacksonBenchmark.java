@@ -0,0 +1,95 @@
+package org.example.velasqueztupac_leecion1.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// (De)serialización JSON con el ObjectMapper configurado por Spring (spring.jackson.*):
+// cuerpo de POST/PUT (SupportTicket) y respuesta de GET (Page<SupportTicketView>).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private SupportTicket ticket;
+    private byte[] ticketJson;
+
+    @Setup
+    public void start() throws Exception {
+        context = BenchmarkContext.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        ticket = BenchmarkContext.ticket(1);
+        ticket.setId(1L);
+        ticket.setTicketNumber("ST-0DJ7K2M4T81Q4");
+        ticket.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30));
+        ticketJson = objectMapper.writeValueAsBytes(ticket);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeTicket() throws Exception {
+        return objectMapper.writeValueAsBytes(ticket);
+    }
+
+    @Benchmark
+    public SupportTicket deserializeTicket() throws Exception {
+        return objectMapper.readValue(ticketJson, SupportTicket.class);
+    }
+
+    @Benchmark
+    public byte[] serializePage(PageState state) throws Exception {
+        return objectMapper.writeValueAsBytes(state.page);
+    }
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"20", "100"})
+        public int pageSize;
+
+        Page<SupportTicketView> page;
+
+        @Setup
+        public void build() {
+            List<SupportTicketView> content = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                SupportTicket source = BenchmarkContext.ticket(i);
+                content.add(new SupportTicketView((long) i, "ST-" + i, source.getRequesterName(), source.getStatus(),
+                        source.getPriority(), source.getCategory(), source.getEstimatedCost(), source.getCurrency(),
+                        LocalDateTime.of(2024, 5, 1, 10, 30), source.getDueDate(), 0L));
+            }
+            page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.velasqueztupac_leecion1.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.service.SupportTicketSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Construcción de los predicados de SupportTicketSpecification.filterBy para las
+// 2^7 combinaciones de filtros (q, status, currency, minCost, maxCost, from, to).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private static final int FILTERS = 7;
+    private static final int COMBINATIONS = 1 << FILTERS;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+
+    @Setup
+    public void start() {
+        context = BenchmarkContext.start();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown
+    public void stop() {
+        entityManager.close();
+        context.close();
+    }
+
+    // Resultado por operación = promedio de una combinación
+    @Benchmark
+    @OperationsPerInvocation(COMBINATIONS)
+    public void everyCombination(Blackhole blackhole) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        for (int mask = 0; mask < COMBINATIONS; mask++) {
+            CriteriaQuery<SupportTicket> query = criteriaBuilder.createQuery(SupportTicket.class);
+            Root<SupportTicket> root = query.from(SupportTicket.class);
+            Predicate predicate = SupportTicketSpecification.filterBy(
+                    (mask & 1) != 0 ? "ana" : null,
+                    (mask & 2) != 0 ? TicketStatus.OPEN : null,
+                    (mask & 4) != 0 ? Currency.USD : null,
+                    (mask & 8) != 0 ? BigDecimal.TEN : null,
+                    (mask & 16) != 0 ? BigDecimal.valueOf(400) : null,
+                    (mask & 32) != 0 ? LocalDateTime.of(2024, 1, 1, 0, 0) : null,
+                    (mask & 64) != 0 ? LocalDateTime.of(2024, 12, 31, 23, 59) : null
+            ).toPredicate(root, query, criteriaBuilder);
+            blackhole.consume(predicate);
+        }
+    }
+}
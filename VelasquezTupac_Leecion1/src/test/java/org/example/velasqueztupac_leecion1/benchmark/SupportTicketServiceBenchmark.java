@@ -0,0 +1,102 @@
+package org.example.velasqueztupac_leecion1.benchmark;
+
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.dto.TicketStats;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.example.velasqueztupac_leecion1.service.TicketStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// SupportTicketServiceImpl de extremo a extremo (validación, JPA, eventos) sobre H2 embebida
+// con 10.000 tickets precargados.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupportTicketServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private SupportTicketService service;
+    private TicketStatistics statistics;
+    private JdbcTemplate jdbcTemplate;
+    private long[] ids;
+    private int sequence;
+
+    @Setup
+    public void start() {
+        context = BenchmarkContext.start();
+        service = context.getBean(SupportTicketService.class);
+        statistics = context.getBean(TicketStatistics.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<SupportTicket> tickets = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            tickets.add(BenchmarkContext.ticket(i));
+        }
+        service.createAll(tickets);
+        ids = tickets.stream().mapToLong(SupportTicket::getId).toArray();
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public SupportTicket create() {
+        return service.create(BenchmarkContext.ticket(sequence++));
+    }
+
+    @Benchmark
+    public Page<SupportTicketView> getAll() {
+        return service.getAll(null, TicketStatus.OPEN, null, null, null, null, null, false,
+                PageRequest.of(5, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    // GET /stats: contadores en memoria frente a los dos GROUP BY que reemplazan
+    @Benchmark
+    public TicketStats statistics() {
+        return statistics.stats(null, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> statisticsGroupBy() {
+        List<Map<String, Object>> rows = new ArrayList<>(jdbcTemplate.queryForList(
+                "SELECT status, priority, COUNT(*) FROM support_tickets GROUP BY status, priority"));
+        rows.addAll(jdbcTemplate.queryForList(
+                "SELECT currency, category, COUNT(*), SUM(estimated_cost), AVG(estimated_cost) FROM support_tickets GROUP BY currency, category"));
+        return rows;
+    }
+
+    @Benchmark
+    public SupportTicket update() {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return service.update(id, BenchmarkContext.ticket(sequence++));
+    }
+}
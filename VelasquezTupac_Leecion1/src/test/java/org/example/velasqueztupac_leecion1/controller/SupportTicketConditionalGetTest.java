@@ -0,0 +1,151 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.example.velasqueztupac_leecion1.service.TicketSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Puerto real para la compresión (la aplica Tomcat); MockMvc para medir sentencias por petición
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class SupportTicketConditionalGetTest {
+
+    private static final String LIST = "/api/v1/support-tickets?status=OPEN&size=20&sort=createdAt,desc";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private SupportTicket saved;
+
+    @BeforeEach
+    void populate() {
+        for (int i = 0; i < 30; i++) {
+            saved = service.create(ticket("Solicitante " + i));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void repeatedTicketPollsRunNoStatements() throws Exception {
+        String etag = mvc.perform(get("/api/v1/support-tickets/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Polls before = polls("SupportTicketController.getById");
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(get("/api/v1/support-tickets/" + saved.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        Polls after = polls("SupportTicketController.getById");
+        assertEquals(5, after.requests() - before.requests());
+        assertEquals(0, after.statements() - before.statements(), "un 304 no debe ejecutar SQL");
+    }
+
+    @Test
+    void repeatedListPollsRunNoStatements() throws Exception {
+        String etag = mvc.perform(get(LIST))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Polls before = polls("SupportTicketController.list");
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(get(LIST).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        }
+
+        Polls after = polls("SupportTicketController.list");
+        assertEquals(5, after.requests() - before.requests());
+        assertEquals(0, after.statements() - before.statements(), "un 304 no debe ejecutar SQL");
+    }
+
+    @Test
+    void writesInvalidateBothETags() throws Exception {
+        String listETag = mvc.perform(get(LIST)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        service.patch(saved.getId(), new SupportTicketPatch(0L, null, TicketStatus.IN_PROGRESS, null, null, null, null, null));
+
+        mvc.perform(get("/api/v1/support-tickets/" + saved.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+        mvc.perform(get(LIST).header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(listETag)));
+    }
+
+    @Test
+    void largeListsAreGzippedWhenTheClientAcceptsIt() throws Exception {
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + LIST))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"requesterName\":\"Solicitante 29\""), json);
+        // Tomcat solo comprime si el ETag es débil
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElse("").startsWith("W/\"r"));
+    }
+
+    // Peticiones medidas y sentencias acumuladas del endpoint hasta ahora
+    private Polls polls(String handler) {
+        DistributionSummary summary = registry.find("tickets.db.statements.per.request").tag("handler", handler).summary();
+        return summary == null ? new Polls(0, 0) : new Polls(summary.count(), summary.totalAmount());
+    }
+
+    private record Polls(long requests, double statements) {
+    }
+}
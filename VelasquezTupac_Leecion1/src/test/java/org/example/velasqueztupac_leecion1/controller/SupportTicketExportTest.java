@@ -0,0 +1,110 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.example.velasqueztupac_leecion1.service.TicketCsv;
+import org.example.velasqueztupac_leecion1.service.TicketExportFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SupportTicketExportTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void populate() {
+        service.create(ticket("Ana", TicketStatus.OPEN));
+        service.create(ticket("Luis, \"el jefe\"", TicketStatus.OPEN));
+        service.create(ticket("Eva", TicketStatus.CLOSED));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void exportsFilteredRowsAsNdjson() throws Exception {
+        String body = export("/api/v1/support-tickets/export?status=OPEN", "application/x-ndjson");
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("Ana", first.get("requesterName").asText());
+        assertEquals("OPEN", first.get("status").asText());
+    }
+
+    @Test
+    void exportsCsvWithHeaderAndQuoting() throws Exception {
+        String body = export("/api/v1/support-tickets/export?format=csv&status=OPEN", "text/csv");
+
+        List<String> lines = body.lines().toList();
+        assertEquals(TicketCsv.HEADER, lines.get(0));
+        assertEquals(3, lines.size());
+        assertEquals(true, lines.get(2).contains("\"Luis, \"\"el jefe\"\"\""));
+    }
+
+    @Test
+    void ndjsonExportFlushesOnceAtTheEndNotPerRow() throws Exception {
+        int[] flushes = {0};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        long written = service.export(null, null, null, null, null, null, null, false, TicketExportFormat.NDJSON, out);
+
+        assertEquals(3, written);
+        assertEquals(3, out.toString().lines().count());
+        assertEquals(1, flushes[0]);
+    }
+
+    @Test
+    void rejectsUnknownFormatBeforeStreaming() throws Exception {
+        mvc.perform(get("/api/v1/support-tickets/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(String url, String contentType) throws Exception {
+        MvcResult started = mvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", org.hamcrest.Matchers.startsWith(contentType)))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.TicketSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Ventana de 50 ms: las altas concurrentes deben caer en pocas transacciones
+@SpringBootTest(properties = {
+        "app.tickets.group-commit.enabled=true",
+        "app.tickets.group-commit.max-wait-ms=50"
+})
+@AutoConfigureMockMvc
+class SupportTicketGroupCommitTest {
+
+    private static final String BODY = """
+            {"requesterName": "%s", "status": "OPEN", "priority": "HIGH", "category": "Red",
+             "estimatedCost": 10, "currency": "USD", "dueDate": "2030-01-01"}""";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void concurrentCreatesAreCommittedTogether() throws Exception {
+        int requests = 40;
+        DistributionSummary commits = registry.find("tickets.create.commit.size").summary();
+        long commitsBefore = commits.count();
+        double committedBefore = commits.totalAmount();
+        ExecutorService clients = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> responses = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < requests; i++) {
+                String body = BODY.formatted("Caída " + i);
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    return mvc.perform(post("/api/v1/support-tickets").contentType(MediaType.APPLICATION_JSON).content(body))
+                            .andExpect(status().isCreated())
+                            .andReturn();
+                }));
+            }
+            start.countDown();
+
+            Set<String> numbers = new HashSet<>();
+            for (Future<MvcResult> response : responses) {
+                JsonNode saved = objectMapper.readTree(response.get().getResponse().getContentAsString());
+                assertTrue(saved.get("id").asLong() > 0);
+                numbers.add(saved.get("ticketNumber").asText());
+            }
+            assertEquals(requests, numbers.size());
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(requests, repository.count());
+        assertEquals(requests, commits.totalAmount() - committedBefore);
+        assertTrue(commits.count() - commitsBefore < requests / 2,
+                "se esperaban lotes, hubo " + (commits.count() - commitsBefore) + " transacciones");
+    }
+
+    @Test
+    void respondAsyncReturnsTheTicketNumberAndAStatusUrl() throws Exception {
+        MvcResult accepted = mvc.perform(post("/api/v1/support-tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Prefer", "respond-async")
+                        .content(BODY.formatted("Ana")))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.ticketNumber").exists())
+                .andReturn();
+        String location = accepted.getResponse().getHeader(HttpHeaders.LOCATION);
+        assertNotNull(location);
+
+        JsonNode status = awaitCommit(location);
+
+        assertEquals("CREATED", status.get("state").asText());
+        mvc.perform(get("/api/v1/support-tickets/" + status.get("id").asLong()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketNumber").value(status.get("ticketNumber").asText()));
+    }
+
+    @Test
+    void invalidTicketsAreRejectedBeforeQueueing() throws Exception {
+        mvc.perform(post("/api/v1/support-tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY.formatted("")))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/v1/support-tickets/queued/ST-NO-EXISTE"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitCommit(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        JsonNode status;
+        do {
+            Thread.sleep(20);
+            status = objectMapper.readTree(mvc.perform(get(location)).andReturn().getResponse().getContentAsString());
+        } while ("QUEUED".equals(status.get("state").asText()) && System.currentTimeMillis() < deadline);
+        return status;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Despliegue con varias instancias: el ETag de los listados se apaga y nunca se responde 304
+@SpringBootTest(properties = "app.tickets.list-etag.enabled=false")
+@AutoConfigureMockMvc
+class SupportTicketListEtagDisabledTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void listsAreServedWithoutEtagWhenDisabled() throws Exception {
+        mvc.perform(get("/api/v1/support-tickets?status=OPEN&size=20")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
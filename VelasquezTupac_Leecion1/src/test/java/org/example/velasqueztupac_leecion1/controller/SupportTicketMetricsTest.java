@@ -0,0 +1,96 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Umbral 0 ms: toda consulta cuenta como lenta y debe aparecer en el log con sus filtros
+@SpringBootTest(properties = "app.metrics.slow-query-ms=0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ExtendWith(OutputCaptureExtension.class)
+class SupportTicketMetricsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void populate() {
+        for (int i = 0; i < 3; i++) {
+            service.create(ticket("Ana " + i));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void recordsStatementsAndRowsPerRequest() throws Exception {
+        double statementsBefore = total("tickets.db.statements.per.request");
+        double rowsBefore = total("tickets.db.rows.per.request");
+
+        mvc.perform(get("/api/v1/support-tickets?status=OPEN&size=2")).andExpect(status().isOk());
+
+        // SELECT de la página + COUNT (la página viene llena): 2 sentencias, 2 filas + 1 del COUNT
+        assertEquals(2, total("tickets.db.statements.per.request") - statementsBefore);
+        assertEquals(3, total("tickets.db.rows.per.request") - rowsBefore);
+    }
+
+    @Test
+    void logsSlowQueriesWithTheFilterCombination(CapturedOutput output) throws Exception {
+        mvc.perform(get("/api/v1/support-tickets?status=OPEN&minCost=10&page=0")).andExpect(status().isOk());
+
+        assertTrue(output.getOut().contains("en SupportTicketController.list con filtros [minCost, status]"),
+                "el log de consultas lentas debe incluir el endpoint y los filtros");
+    }
+
+    @Test
+    void exposesEverythingInPrometheusFormat() throws Exception {
+        mvc.perform(get("/api/v1/support-tickets?mode=cursor")).andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",handler=\"SupportTicketController.listByCursor\"")))
+                .andExpect(content().string(containsString(
+                        "tickets_db_statements_per_request_bucket{handler=\"SupportTicketController.listByCursor\"")))
+                .andExpect(content().string(containsString("tickets_db_rows_total")))
+                .andExpect(content().string(containsString("tickets_db_slow_queries_total")));
+    }
+
+    private double total(String summary) {
+        DistributionSummary meter = registry.find(summary).tag("handler", "SupportTicketController.list").summary();
+        return meter == null ? 0 : meter.totalAmount();
+    }
+}
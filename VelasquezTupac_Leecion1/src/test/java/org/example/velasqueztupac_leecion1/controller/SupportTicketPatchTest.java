@@ -0,0 +1,148 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.example.velasqueztupac_leecion1.service.TicketSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SupportTicketPatchTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private SupportTicket saved;
+
+    @BeforeEach
+    void populate() {
+        saved = service.create(ticket("Ana Torres"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void patchUpdatesOnlyTheSentFieldsInOneStatement() throws Exception {
+        double before = statements("SupportTicketController.patch");
+
+        mvc.perform(patchJson(saved.getId(), "{\"version\": 0, \"status\": \"RESOLVED\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        assertEquals(1, statements("SupportTicketController.patch") - before);
+        SupportTicketView reloaded = service.getById(saved.getId());
+        assertEquals(TicketStatus.RESOLVED, reloaded.status());
+        assertEquals("Ana Torres", reloaded.requesterName());
+        assertEquals(new BigDecimal("25.50"), reloaded.estimatedCost());
+        assertEquals(1L, reloaded.version());
+    }
+
+    @Test
+    void staleVersionIsAConflict() throws Exception {
+        mvc.perform(patchJson(saved.getId(), "{\"version\": 0, \"priority\": \"HIGH\"}"))
+                .andExpect(status().isNoContent());
+
+        // Segundo agente con la versión que leyó antes del primer cambio
+        mvc.perform(patchJson(saved.getId(), "{\"version\": 0, \"priority\": \"LOW\"}"))
+                .andExpect(status().isConflict());
+        assertEquals(Priority.HIGH, service.getById(saved.getId()).priority());
+    }
+
+    @Test
+    void rejectsMissingTicketsAndEmptyPatches() throws Exception {
+        mvc.perform(patchJson(saved.getId() + 1000, "{\"version\": 0, \"status\": \"CLOSED\"}"))
+                .andExpect(status().isNotFound());
+        mvc.perform(patchJson(saved.getId(), "{\"version\": 0}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(patchJson(saved.getId(), "{\"status\": \"CLOSED\"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(patchJson(saved.getId(), "{\"version\": 0, \"requesterName\": \"  \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void putWithAStaleVersionIsAConflict() throws Exception {
+        service.patch(saved.getId(), new SupportTicketPatch(
+                0L, null, TicketStatus.IN_PROGRESS, null, null, null, null, null));
+
+        mvc.perform(put("/api/v1/support-tickets/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"version": 0, "requesterName": "Ana", "status": "OPEN", "priority": "LOW",
+                                 "category": "Red", "estimatedCost": 10, "currency": "USD", "dueDate": "2030-01-01"}"""))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void patchedNamesAreSearchable() throws Exception {
+        mvc.perform(patchJson(saved.getId(), "{\"version\": 0, \"requesterName\": \"Ana Paredes\"}"))
+                .andExpect(status().isNoContent());
+
+        assertEquals(Optional.of(Set.of(saved.getId())), searchIndex.candidates("paredes"));
+        assertEquals(Optional.of(Set.of()), searchIndex.candidates("torres"));
+    }
+
+    @Test
+    void deleteIsOneStatementAndReportsMissingTickets() throws Exception {
+        double before = statements("SupportTicketController.delete");
+        mvc.perform(delete("/api/v1/support-tickets/" + saved.getId())).andExpect(status().isNoContent());
+        assertEquals(1, statements("SupportTicketController.delete") - before);
+
+        // Sin filas afectadas se consulta el archivo (409 si está archivado): solo en el camino de error
+        before = statements("SupportTicketController.delete");
+        mvc.perform(delete("/api/v1/support-tickets/" + saved.getId())).andExpect(status().isNotFound());
+        assertEquals(2, statements("SupportTicketController.delete") - before);
+        assertFalse(repository.existsById(saved.getId()));
+    }
+
+    private static MockHttpServletRequestBuilder patchJson(Long id, String body) {
+        return patch("/api/v1/support-tickets/" + id).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private double statements(String handler) {
+        DistributionSummary summary = registry.find("tickets.db.statements.per.request").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
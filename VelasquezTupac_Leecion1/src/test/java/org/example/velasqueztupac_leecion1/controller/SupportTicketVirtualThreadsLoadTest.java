@@ -0,0 +1,209 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.velasqueztupac_leecion1.VelasquezTupacLeecion1Application;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// mvn -Pbenchmark test -Dtest=SupportTicketVirtualThreadsLoadTest   (Java 21+, ulimit -n >= 32768)
+// La misma aplicación con hilos de plataforma (Tomcat, 200 hilos) y con hilos virtuales + admisión,
+// frente a una base de datos lenta simulada: cada sentencia tarda DB_LATENCY_MS con la conexión
+// tomada. Clientes en lazo cerrado: cada uno pide un listado, espera la respuesta y repite.
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class SupportTicketVirtualThreadsLoadTest {
+
+    private static final int[] CLIENTS = {100, 1_000, 10_000};
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration DURATION = Duration.ofSeconds(15);
+    private static final long DB_LATENCY_MS = 20;
+    private static final int POOL_SIZE = 50;
+    private static final int ROWS = 1_000;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() >= 1L << 30, "10.000 clientes necesitan al menos 1 GB de heap");
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext app = start(virtual)) {
+                populate(app.getBean(JdbcTemplate.class));
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                URI uri = URI.create("http://localhost:" + port + "/api/v1/support-tickets?size=20&sort=createdAt,desc");
+                ExecutorService threads = virtualThreads();
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .executor(threads)
+                        .build();
+                try {
+                    for (int clients : CLIENTS) {
+                        run(http, threads, uri, clients, WARMUP);
+                        Result result = run(http, threads, uri, clients, DURATION);
+                        System.out.printf("%-10s clientes=%6d | %8.1f req/s | p50 %7.1f ms p99 %7.1f ms p99.9 %7.1f ms | 503 %6d | errores %6d%n",
+                                virtual ? "virtuales" : "plataforma", clients, result.throughput(),
+                                result.p50Millis(), result.p99Millis(), result.p999Millis(), result.rejected(), result.errors());
+                        assertTrue(result.ok() > 0, "ninguna respuesta correcta con " + clients + " clientes");
+                    }
+                } finally {
+                    threads.shutdownNow();
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(VelasquezTupacLeecion1Application.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "app.tickets.admission.max-wait-ms=5000")
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new SlowDatabase()))
+                .run();
+    }
+
+    private static void populate(JdbcTemplate jdbcTemplate) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{"ST-V" + i, "Solicitante " + i, Timestamp.valueOf(base.plusMinutes(i)), LocalDate.of(2030, 1, 1)});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO support_tickets
+                (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date, version)
+                VALUES (NEXT VALUE FOR support_tickets_seq, ?, ?, 'OPEN', 'LOW', 'Red', 10, 'USD', ?, ?, 0)""", batch);
+    }
+
+    private static Result run(HttpClient http, ExecutorService threads, URI uri, int clients, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<Future<Client>> futures = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            futures.add(threads.submit(() -> {
+                Client client = new Client();
+                while (System.nanoTime() < end) {
+                    client.send(http, request);
+                }
+                return client;
+            }));
+        }
+
+        List<Client> finished = new ArrayList<>(clients);
+        for (Future<Client> future : futures) {
+            finished.add(future.get());
+        }
+        int ok = finished.stream().mapToInt(client -> client.ok).sum();
+        int rejected = finished.stream().mapToInt(client -> client.rejected).sum();
+        int errors = finished.stream().mapToInt(client -> client.errors).sum();
+        long[] latencies = new long[ok];
+        int filled = 0;
+        for (Client client : finished) {
+            System.arraycopy(client.latencies, 0, latencies, filled, client.ok);
+            filled += client.ok;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(ok / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                ok, rejected, errors);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(sorted.length * p) - 1] / 1e6;
+    }
+
+    // API de Java 21 por reflexión: el proyecto compila con --release 17
+    private static ExecutorService virtualThreads() throws ReflectiveOperationException {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    private static final class Client {
+
+        private long[] latencies = new long[64];
+        private int ok;
+        private int rejected;
+        private int errors;
+
+        private void send(HttpClient http, HttpRequest request) throws InterruptedException {
+            long start = System.nanoTime();
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    if (ok == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, ok * 2);
+                    }
+                    latencies[ok++] = System.nanoTime() - start;
+                } else if (status == 503) {
+                    rejected++;
+                    TimeUnit.MILLISECONDS.sleep(100);
+                } else {
+                    errors++;
+                }
+            } catch (IOException e) {
+                errors++;
+            }
+        }
+    }
+
+    // Cada sentencia espera DB_LATENCY_MS antes de ejecutarse, con la conexión ya tomada del pool
+    private static final class SlowDatabase implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource).listener(new QueryExecutionListener() {
+                @Override
+                public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                    try {
+                        Thread.sleep(DB_LATENCY_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                }
+            }).build();
+        }
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, double p999Millis,
+                          int ok, int rejected, int errors) {
+    }
+}
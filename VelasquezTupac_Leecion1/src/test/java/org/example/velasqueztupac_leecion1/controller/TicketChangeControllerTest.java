@@ -0,0 +1,127 @@
+package org.example.velasqueztupac_leecion1.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.example.velasqueztupac_leecion1.service.TicketSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketChangeControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void deltaReturnsWritesInCommitOrder() throws Exception {
+        long since = latest();
+        SupportTicket created = service.create(ticket("Ana"));
+        service.patch(created.getId(), new SupportTicketPatch(0L, null, TicketStatus.RESOLVED, null, null, null, null, null));
+        service.delete(created.getId());
+
+        JsonNode delta = json(mvc.perform(get("/api/v1/support-tickets/changes?since=" + since))
+                .andExpect(status().isOk()).andReturn());
+
+        assertFalse(delta.get("resyncRequired").asBoolean());
+        JsonNode changes = delta.get("changes");
+        assertEquals(3, changes.size());
+        assertEquals("CREATED", changes.get(0).get("type").asText());
+        assertEquals("Ana", changes.get(0).get("ticket").get("requesterName").asText());
+        // PATCH: solo los campos modificados
+        assertEquals("RESOLVED", changes.get(1).get("ticket").get("status").asText());
+        assertTrue(changes.get(1).get("ticket").get("requesterName").isNull());
+        assertEquals("DELETED", changes.get(2).get("type").asText());
+        assertEquals(since + 3, changes.get(2).get("sequence").asLong());
+    }
+
+    @Test
+    void unknownSequencesRequireResync() throws Exception {
+        JsonNode delta = json(mvc.perform(get("/api/v1/support-tickets/changes?since=42")).andReturn());
+
+        assertTrue(delta.get("resyncRequired").asBoolean());
+    }
+
+    @Test
+    void streamPushesNewChangesAsServerSentEvents() throws Exception {
+        MvcResult stream = mvc.perform(get("/api/v1/support-tickets/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        SupportTicket created = service.create(ticket("Luis"));
+
+        String body = awaitBody(stream, "\"id\":" + created.getId());
+        assertTrue(body.contains("event:change"), body);
+        assertTrue(body.contains("\"type\":\"CREATED\""), body);
+    }
+
+    @Test
+    void reconnectResumesFromLastEventIdRatherThanTheOriginalSince() throws Exception {
+        long since = latest();
+        SupportTicket first = service.create(ticket("Ana"));
+        SupportTicket second = service.create(ticket("Luis"));
+
+        // EventSource reconecta a la misma URL (?since=) y agrega Last-Event-ID con lo último recibido
+        MvcResult stream = mvc.perform(get("/api/v1/support-tickets/changes/stream?since=" + since)
+                        .header("Last-Event-ID", since + 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitBody(stream, "\"id\":" + second.getId());
+        assertTrue(body.contains("\"id\":" + second.getId()), body);
+        assertFalse(body.contains("\"id\":" + first.getId() + ","), body);
+    }
+
+    private long latest() throws Exception {
+        return json(mvc.perform(get("/api/v1/support-tickets/changes")).andReturn()).get("latest").asLong();
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    // El envío SSE ocurre en otro hilo: se espera a que aparezca en la respuesta
+    private static String awaitBody(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.example.velasqueztupac_leecion1.controller.SupportTicketController;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionAdmissionInterceptorTest {
+
+    private final ConnectionAdmissionInterceptor interceptor = new ConnectionAdmissionInterceptor(1, 20, new SimpleMeterRegistry());
+    private final HandlerMethod handler = handler();
+
+    @Test
+    void rejectsWithRetryAfterWhenNoPermitFreesUpInTime() {
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), handler));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), handler, null);
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+    }
+
+    @Test
+    void asyncRequestsReleaseTheirPermitOnce() {
+        MockHttpServletRequest export = new MockHttpServletRequest();
+        interceptor.preHandle(export, new MockHttpServletResponse(), handler);
+        interceptor.afterConcurrentHandlingStarted(export, new MockHttpServletResponse(), handler);
+        // Fin del despacho asíncrono sin preHandle propio: no debe devolver un permiso que no tomó
+        interceptor.afterCompletion(export, new MockHttpServletResponse(), handler, null);
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+        assertThrows(ResponseStatusException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+    }
+
+    @Test
+    void anExportCompletesWhileAllPermitsAreTaken() {
+        // Espera larga: si el despacho asíncrono pidiera permiso, tardaría 5 s y terminaría en 503
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectionAdmissionInterceptor saturated = new ConnectionAdmissionInterceptor(1, 5000, registry);
+        MockHttpServletRequest export = new MockHttpServletRequest();
+        assertTrue(saturated.preHandle(export, new MockHttpServletResponse(), handler));
+        saturated.afterConcurrentHandlingStarted(export, new MockHttpServletResponse(), handler);
+
+        // Mientras escribe, otra petición toma el único permiso
+        MockHttpServletRequest other = new MockHttpServletRequest();
+        assertTrue(saturated.preHandle(other, new MockHttpServletResponse(), handler));
+
+        // Fin de la exportación: el despacho ASYNC pasa de inmediato y no devuelve nada
+        export.setDispatcherType(DispatcherType.ASYNC);
+        assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> assertTrue(saturated.preHandle(export, new MockHttpServletResponse(), handler)));
+        saturated.afterCompletion(export, new MockHttpServletResponse(), handler, null);
+
+        // El permiso sigue siendo de 'other' hasta que termine
+        assertEquals(1, registry.get("tickets.admission.in.flight").gauge().value());
+        saturated.afterCompletion(other, new MockHttpServletResponse(), handler, null);
+        assertTrue(saturated.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+    }
+
+    @Test
+    void otherHandlersAreNotLimited() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object()));
+        }
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+    }
+
+    private static HandlerMethod handler() {
+        try {
+            return new HandlerMethod(new SupportTicketController(), SupportTicketController.class.getMethod("queued", String.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
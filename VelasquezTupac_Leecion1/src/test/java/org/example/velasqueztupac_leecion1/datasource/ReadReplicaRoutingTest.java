@@ -0,0 +1,180 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.TicketSearchIndex;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Dos réplicas embebidas: replica-1 es otra base H2 con el mismo esquema pero distintas filas (así
+// se ve de dónde se leyó); replica-2 no existe y debe quedar marcada como caída.
+// Sin ETag de listados (despliegue de varias instancias): los listados leen de las réplicas.
+// Con ETag van al primario: ver ReplicaListEtagTest.
+@SpringBootTest(properties = {
+        "app.datasource.replica.urls=" + ReadReplicaRoutingTest.REPLICA_URL + ",jdbc:h2:mem:tickets_replica_missing;IFEXISTS=TRUE",
+        "app.datasource.replica.health-check-ms=3600000",
+        "app.tickets.list-etag.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:tickets_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String BODY = """
+            {"requesterName": "Ana", "status": "OPEN", "priority": "HIGH", "category": "Red",
+             "estimatedCost": 10, "currency": "USD", "dueDate": "2030-01-01"}""";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private DataSourcePools pools;
+
+    @Autowired
+    private HealthIndicator replicasHealthIndicator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void createReplica() throws SQLException {
+        List<String> schema = jdbcTemplate.queryForList("SCRIPT NODATA", String.class);
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : schema) {
+                statement.execute(sql);
+            }
+            statement.execute("""
+                    INSERT INTO support_tickets
+                    (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date, version)
+                    VALUES (900001, 'ST-REPLICA', 'Solo en la réplica', 'OPEN', 'LOW', 'Red', 10, 'USD', CURRENT_TIMESTAMP, DATE '2030-01-01', 0)""");
+        }
+    }
+
+    @AfterAll
+    void dropReplica() throws SQLException {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        pools.checkHealth();
+        repository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void readsGoToTheHealthyReplica() throws Exception {
+        double before = readOnlyConnections("replica-1");
+
+        mvc.perform(get("/api/v1/support-tickets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].requesterName").value("Solo en la réplica"));
+
+        assertTrue(readOnlyConnections("replica-1") > before);
+        assertEquals(Map.of("replica-1", "UP", "replica-2", "DOWN"), replicasHealthIndicator.health().getDetails());
+        assertEquals(0, registry.get("tickets.db.replica.up").tag("pool", "replica-2").gauge().value());
+    }
+
+    @Test
+    void writersReadTheirOwnWritesFromThePrimary() throws Exception {
+        mvc.perform(post("/api/v1/support-tickets").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString(ReadYourWritesInterceptor.COOKIE + "=1")));
+
+        // Sin la cookie el listado va a la réplica, que aún no tiene el ticket (retraso de replicación)
+        mvc.perform(get("/api/v1/support-tickets"))
+                .andExpect(jsonPath("$.content[0].requesterName").value("Solo en la réplica"));
+        mvc.perform(get("/api/v1/support-tickets").cookie(new Cookie(ReadYourWritesInterceptor.COOKIE, "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].requesterName").value("Ana"));
+    }
+
+    @Test
+    void readsByIdAlwaysComeFromThePrimarySoTheCacheNeverHoldsReplicaRows() throws Exception {
+        MvcResult created = mvc.perform(post("/api/v1/support-tickets").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        // Sin cookie: el primario ya lo tiene aunque la réplica no
+        mvc.perform(get("/api/v1/support-tickets/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requesterName").value("Ana"));
+        // La fila que solo existe en la réplica no se ve (ni se cachea) por ID
+        mvc.perform(get("/api/v1/support-tickets/900001")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenNoReplicaIsHealthy() throws Exception {
+        pools.markDown("replica-1");
+        double before = readOnlyConnections("primary");
+
+        mvc.perform(get("/api/v1/support-tickets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+        assertTrue(readOnlyConnections("primary") > before);
+
+        // Vuelve a recibir lecturas en cuanto la revisión la encuentra sana
+        pools.checkHealth();
+        mvc.perform(get("/api/v1/support-tickets")).andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void exposesUtilizationPerPool() {
+        for (String pool : List.of("primary", "replica-1", "replica-2")) {
+            assertNotNull(registry.find("tickets.db.pool.utilization").tag("pool", pool).gauge(), pool);
+        }
+        assertNotNull(registry.find("hikaricp.connections.active").tag("pool", "replica-1").gauge());
+    }
+
+    private double readOnlyConnections(String pool) {
+        return registry.get("tickets.db.readonly.connections").tag("pool", pool).counter().count();
+    }
+}
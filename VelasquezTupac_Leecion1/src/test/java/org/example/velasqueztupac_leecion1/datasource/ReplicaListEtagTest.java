@@ -0,0 +1,144 @@
+package org.example.velasqueztupac_leecion1.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.example.velasqueztupac_leecion1.service.SupportTicketService;
+import org.example.velasqueztupac_leecion1.service.TicketSearchIndex;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Réplica deliberadamente atrasada: otra base H2 que nunca recibe las escrituras del primario y
+// conserva una fila que el primario ya no tiene. Con el ETag de listados activo (por defecto) los
+// listados no pueden leerla: el ETag y el feed de cambios salen del primario.
+@SpringBootTest(properties = {
+        "app.datasource.replica.urls=" + ReplicaListEtagTest.REPLICA_URL,
+        "app.datasource.replica.health-check-ms=3600000"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaListEtagTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:tickets_replica_stale;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String LIST = "/api/v1/support-tickets?size=20&sort=createdAt,desc";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void createStaleReplica() throws SQLException {
+        List<String> schema = jdbcTemplate.queryForList("SCRIPT NODATA", String.class);
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : schema) {
+                statement.execute(sql);
+            }
+            statement.execute("""
+                    INSERT INTO support_tickets
+                    (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date, version)
+                    VALUES (900001, 'ST-STALE', 'Borrado en el primario', 'OPEN', 'LOW', 'Red', 10, 'USD', CURRENT_TIMESTAMP, DATE '2030-01-01', 0)""");
+        }
+    }
+
+    @AfterAll
+    void dropReplica() throws SQLException {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void anEtaggedListNeverServesTheStaleReplica() throws Exception {
+        service.create(ticket("Ana"));
+
+        MvcResult first = mvc.perform(get(LIST))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].requesterName").value("Ana"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mvc.perform(get(LIST).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        // La réplica nunca recibe esta escritura; el ETag cambia y la lista nueva sí la trae
+        service.create(ticket("Luis"));
+        mvc.perform(get(LIST).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.totalElements").value(2));
+        mvc.perform(get(LIST + "&mode=cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    void theFeedBootstrapListContainsEveryChangeUpToLatest() throws Exception {
+        SupportTicket created = service.create(ticket("Ana"));
+
+        // Protocolo del feed: latest -> lista -> stream?since=latest. Lo anterior a latest debe estar en la lista
+        long latest = objectMapper.readTree(mvc.perform(get("/api/v1/support-tickets/changes"))
+                .andReturn().getResponse().getContentAsString()).get("latest").asLong();
+        assertTrue(latest > 0);
+        mvc.perform(get(LIST))
+                .andExpect(jsonPath("$.content[0].id").value(created.getId()))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void exportStillReadsFromTheReplica() throws Exception {
+        MvcResult started = mvc.perform(get("/api/v1/support-tickets/export?format=ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Borrado en el primario")));
+    }
+}
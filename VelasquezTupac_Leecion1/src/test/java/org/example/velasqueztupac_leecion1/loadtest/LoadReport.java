@@ -0,0 +1,169 @@
+package org.example.velasqueztupac_leecion1.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencias (HdrHistogram, en microsegundos) y resultados por operación. La latencia se mide desde
+// el instante en que la petición debía salir según la tasa fija, no desde que salió: si el servidor
+// se atrasa, la espera acumulada cuenta (sin omisión coordinada).
+class LoadReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_KEYS = {"p50Ms", "p90Ms", "p99Ms", "p999Ms"};
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final Stats all = new Stats();
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    void record(Operation operation, long intendedNanos, long completedNanos, Integer status, Throwable error) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos));
+        String outcome = error != null ? "errors" : outcome(status);
+        for (Stats target : new Stats[]{stats.get(operation), all}) {
+            target.latency.recordValue(Math.min(micros, HIGHEST_MICROS));
+            target.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+    }
+
+    // Más peticiones en vuelo que loadtest.max-in-flight: el servidor ya no da abasto. No hay latencia
+    // que registrar, así que desde aquí los percentiles dejan de reflejar la sobrecarga (vuelve la
+    // omisión coordinada): una ejecución con descartes no es válida (ver droppedCount)
+    void dropped(Operation operation) {
+        for (Stats target : new Stats[]{stats.get(operation), all}) {
+            target.outcomes.computeIfAbsent("dropped", key -> new LongAdder()).increment();
+        }
+    }
+
+    long total() {
+        return all.latency.getTotalCount();
+    }
+
+    long droppedCount() {
+        LongAdder dropped = all.outcomes.get("dropped");
+        return dropped == null ? 0 : dropped.sum();
+    }
+
+    void print(double seconds) {
+        System.out.printf("%-7s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "op", "n", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "resultados");
+        stats.forEach((operation, s) -> print(operation.key(), s, seconds));
+        print("total", all, seconds);
+    }
+
+    Map<String, Object> toMap(Map<String, Object> config, double seconds) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((operation, s) -> operations.put(operation.key(), s.toMap(seconds)));
+        operations.put("total", all.toMap(seconds));
+        Map<String, Object> result = new LinkedHashMap<>(config);
+        long dropped = droppedCount();
+        result.put("valid", dropped == 0);
+        result.put("dropped", dropped);
+        if (dropped > 0) {
+            result.put("invalidReason", dropped + " peticiones descartadas por max-in-flight: los percentiles no incluyen su espera");
+        }
+        result.put("operations", operations);
+        return result;
+    }
+
+    void write(Path file, Map<String, Object> result, ObjectMapper objectMapper) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+        // Distribución completa, graficable con el plotter de HdrHistogram
+        Path hgrm = file.resolveSibling(file.getFileName().toString().replaceFirst("\\.json$", "") + ".hgrm");
+        try (var out = new PrintStream(Files.newOutputStream(hgrm))) {
+            all.latency.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    // p50/p99/p99.9 frente a una ejecución anterior; true si algún p99 empeoró más que tolerance
+    boolean compare(JsonNode baseline, Map<String, Object> result, double tolerance) {
+        boolean regressed = false;
+        System.out.printf("%nComparación con %s (%s):%n", baseline.path("version").asText("?"), baseline.path("timestamp").asText("?"));
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> operations = (Map<String, Map<String, Object>>) result.get("operations");
+        for (Map.Entry<String, Map<String, Object>> entry : operations.entrySet()) {
+            JsonNode before = baseline.path("operations").path(entry.getKey());
+            if (before.isMissingNode()) {
+                continue;
+            }
+            StringBuilder line = new StringBuilder(String.format("%-7s", entry.getKey()));
+            for (String percentile : new String[]{"p50Ms", "p99Ms", "p999Ms"}) {
+                double old = before.path(percentile).asDouble();
+                double now = ((Number) entry.getValue().get(percentile)).doubleValue();
+                double change = old == 0 ? 0 : (now - old) / old;
+                line.append(String.format("  %s %8.2f -> %8.2f (%+6.1f %%)", percentile, old, now, change * 100));
+                if (percentile.equals("p99Ms") && change > tolerance) {
+                    regressed = true;
+                    line.append(" REGRESIÓN");
+                }
+            }
+            System.out.println(line);
+        }
+        return regressed;
+    }
+
+    private static void print(String name, Stats s, double seconds) {
+        Histogram h = s.latency;
+        System.out.printf("%-7s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", name, h.getTotalCount(),
+                h.getTotalCount() / seconds, millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9),
+                h.getMaxValue() / 1000.0, s.outcomeCounts());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String outcome(int status) {
+        return switch (status) {
+            case 200, 201, 204, 304 -> "ok";
+            case 404 -> "notFound";
+            case 409 -> "conflict";
+            case 503 -> "rejected";
+            default -> "http" + status;
+        };
+    }
+
+    private static final class Stats {
+
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        private final Map<String, LongAdder> outcomes = new ConcurrentSkipListMap<>();
+
+        private Map<String, Long> outcomeCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            return counts;
+        }
+
+        private Map<String, Object> toMap(double seconds) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", latency.getTotalCount());
+            map.put("throughput", latency.getTotalCount() / seconds);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                map.put(PERCENTILE_KEYS[i], millis(latency, PERCENTILES[i]));
+            }
+            map.put("maxMs", latency.getMaxValue() / 1000.0);
+            map.put("outcomes", outcomeCounts());
+            return map;
+        }
+    }
+}
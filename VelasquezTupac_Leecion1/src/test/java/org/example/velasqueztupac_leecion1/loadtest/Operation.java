@@ -0,0 +1,35 @@
+package org.example.velasqueztupac_leecion1.loadtest;
+
+// Mezcla de la carga: proporción aproximada de un tablero de soporte (mucha lectura, poca escritura)
+enum Operation {
+
+    LIST(40),
+    GET(35),
+    CREATE(10),
+    UPDATE(10),
+    DELETE(5);
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final int weight;
+
+    Operation(int weight) {
+        this.weight = weight;
+    }
+
+    // roll en [0, 100)
+    static Operation pick(int roll) {
+        int accumulated = 0;
+        for (Operation operation : values()) {
+            accumulated += operation.weight;
+            if (roll < accumulated) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("roll fuera de [0, " + TOTAL_WEIGHT + "): " + roll);
+    }
+
+    String key() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.velasqueztupac_leecion1.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.velasqueztupac_leecion1.VelasquezTupacLeecion1Application;
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.service.TicketDeadlineIndex;
+import org.example.velasqueztupac_leecion1.service.TicketSearchIndex;
+import org.example.velasqueztupac_leecion1.service.TicketStatistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga HTTP de lazo abierto contra la aplicación completa: controlador, servicio, JPA y la H2
+ * embebida de src/test/resources.
+ * <p>
+ * mvn -Ploadtest test [-Dloadtest.rate=200 -Dloadtest.duration=120 -Dloadtest.baseline=ruta/anterior.json]
+ * <p>
+ * Las peticiones salen a tasa fija (loadtest.rate por segundo) respondan o no las anteriores, con la
+ * mezcla de {@link Operation}. Los resultados van a loadtest.result (JSON por operación y la
+ * distribución completa en .hgrm). Con loadtest.baseline se comparan p50/p99/p99.9 con una ejecución
+ * anterior y el proceso termina con error si algún p99 empeoró más que loadtest.tolerance.
+ * <p>
+ * Si se llegó a loadtest.max-in-flight y hubo descartes, el resultado se marca "valid": false y el
+ * proceso termina con error: los percentiles ya no cuentan esas peticiones. Bajar loadtest.rate.
+ */
+public final class TicketLoadGenerator {
+
+    private static final int SEED_BATCH = 1_000;
+
+    private TicketLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "100"));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 15));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60));
+        int rows = Integer.getInteger("loadtest.rows", 10_000);
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2_000);
+        Path result = Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+        String baseline = System.getProperty("loadtest.baseline", "");
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+
+        boolean regressed = false;
+        boolean valid;
+        try (ConfigurableApplicationContext app = start()) {
+            long[] ids = seed(app, rows);
+            ObjectMapper objectMapper = app.getBean(ObjectMapper.class);
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            TicketWorkload workload = new TicketWorkload(http, objectMapper,
+                    "http://localhost:" + port + "/api/v1/support-tickets", ids);
+
+            System.out.printf("Calentamiento: %d s a %.0f req/s sobre %d tickets%n", warmup.toSeconds(), rate, rows);
+            run(workload, new LoadReport(), rate, warmup, maxInFlight);
+            System.out.printf("Medición: %d s a %.0f req/s%n", duration.toSeconds(), rate);
+            LoadReport report = new LoadReport();
+            double seconds = run(workload, report, rate, duration, maxInFlight);
+            report.print(seconds);
+
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("version", System.getProperty("loadtest.version", "dev"));
+            config.put("timestamp", Instant.now().toString());
+            config.put("rate", rate);
+            config.put("durationSeconds", duration.toSeconds());
+            config.put("warmupSeconds", warmup.toSeconds());
+            config.put("rows", rows);
+            config.put("maxInFlight", maxInFlight);
+            config.put("java", System.getProperty("java.version"));
+            config.put("processors", Runtime.getRuntime().availableProcessors());
+            Map<String, Object> summary = report.toMap(config, seconds);
+            report.write(result, summary, objectMapper);
+            System.out.println("Resultados: " + result.toAbsolutePath());
+            valid = report.droppedCount() == 0;
+            if (!valid) {
+                System.out.printf("EJECUCIÓN NO VÁLIDA: %d peticiones descartadas por max-in-flight (%d); los percentiles"
+                        + " subestiman la sobrecarga. Bajar loadtest.rate%n", report.droppedCount(), maxInFlight);
+            }
+
+            if (!baseline.isBlank()) {
+                JsonNode before = objectMapper.readTree(Path.of(baseline).toFile());
+                regressed = report.compare(before, summary, tolerance);
+                if (regressed) {
+                    System.out.printf("Algún p99 empeoró más de %.0f %% respecto de %s%n", tolerance * 100, baseline);
+                }
+            }
+        }
+        // El HttpClient y los hilos de la aplicación no deben retener la JVM de exec:exec
+        System.exit(regressed || !valid ? 1 : 0);
+    }
+
+    // La petición i debe salir en start + i / rate. La latencia se cuenta desde ese instante, así que
+    // un servidor lento no frena la carga ni esconde su atraso (omisión coordinada).
+    private static double run(TicketWorkload workload, LoadReport report, double rate, Duration duration, int maxInFlight)
+            throws InterruptedException {
+        long interval = Math.round(1e9 / rate);
+        long requests = Math.round(rate * duration.toSeconds());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long intended = start + i * interval;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = workload.next();
+            if (!inFlight.tryAcquire()) {
+                report.dropped(operation);
+                continue;
+            }
+            CompletableFuture<Integer> response;
+            try {
+                response = workload.execute(operation);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((status, error) -> {
+                report.record(operation, intended, System.nanoTime(), status, error);
+                inFlight.release();
+            });
+        }
+        // Las últimas respuestas también cuentan
+        if (inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        } else {
+            System.out.println("Aviso: quedaron peticiones sin responder tras 60 s");
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(VelasquezTupacLeecion1Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // Los 404/409 son parte de la mezcla: sin una línea de log por cada uno
+                        "logging.level.org.springframework.web=ERROR")
+                .run();
+    }
+
+    // Filas variadas por JDBC (más rápido que por la API) y luego los índices en memoria, como al arrancar
+    private static long[] seed(ConfigurableApplicationContext app, int rows) {
+        JdbcTemplate jdbcTemplate = app.getBean(JdbcTemplate.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{
+                    "ST-L" + i,
+                    TicketWorkload.requesterName(random),
+                    TicketStatus.values()[random.nextInt(TicketStatus.values().length)].name(),
+                    Priority.values()[random.nextInt(Priority.values().length)].name(),
+                    TicketWorkload.CATEGORIES[random.nextInt(TicketWorkload.CATEGORIES.length)],
+                    random.nextInt(0, 1_000),
+                    Currency.values()[random.nextInt(Currency.values().length)].name(),
+                    Timestamp.valueOf(now.minusMinutes(random.nextLong(TicketWorkload.HISTORY_DAYS * 24L * 60))),
+                    now.toLocalDate().plusDays(random.nextInt(-30, 60))
+            });
+            if (batch.size() == SEED_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO support_tickets
+                        (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date, version)
+                        VALUES (NEXT VALUE FOR support_tickets_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)""", batch);
+                batch.clear();
+            }
+        }
+        app.getBean(TicketSearchIndex.class).rebuild();
+        app.getBean(TicketStatistics.class).reconcile();
+        app.getBean(TicketDeadlineIndex.class).load();
+        // El id sale de una secuencia con saltos: GET y UPDATE eligen entre los ids reales
+        return jdbcTemplate.queryForList("SELECT id FROM support_tickets", Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.velasqueztupac_leecion1.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Peticiones HTTP de cada operación contra /api/v1/support-tickets. Los listados combinan al azar
+// q, status, currency, rango de costo y rango de fechas; GET/PUT eligen entre las filas sembradas y
+// DELETE borra solo tickets creados por la propia carga, para no vaciar la base.
+class TicketWorkload {
+
+    static final String[] FIRST_NAMES = {"Ana", "Luis", "María", "Jorge", "Lucía", "Carlos", "Elena", "Diego",
+            "Sofía", "Pedro", "Valeria", "Miguel", "Camila", "Andrés", "Paula", "Raúl"};
+    static final String[] LAST_NAMES = {"Torres", "Paredes", "Quispe", "Mendoza", "Castillo", "Rojas", "Vargas",
+            "Flores", "Salazar", "Herrera", "Guzmán", "Ramos", "Cárdenas", "Villanueva", "Ortiz", "Navarro"};
+    static final String[] CATEGORIES = {"Red", "Hardware", "Software", "Accesos", "Correo"};
+    // Los created_at sembrados cubren este rango hacia atrás desde el arranque
+    static final int HISTORY_DAYS = 365;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final String baseUri;
+    private final long[] seededIds;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    TicketWorkload(HttpClient http, ObjectMapper objectMapper, String baseUri, long[] seededIds) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.seededIds = seededIds;
+    }
+
+    Operation next() {
+        Operation operation = Operation.pick(ThreadLocalRandom.current().nextInt(100));
+        // Aún no hay tickets propios que borrar
+        return operation == Operation.DELETE && created.isEmpty() ? Operation.CREATE : operation;
+    }
+
+    // Código HTTP de la respuesta (en UPDATE, el del PUT o el del GET previo si falló)
+    CompletableFuture<Integer> execute(Operation operation) {
+        return switch (operation) {
+            case LIST -> send(HttpRequest.newBuilder(uri(listQuery())).GET());
+            case GET -> send(HttpRequest.newBuilder(uri("/" + randomId())).GET());
+            case CREATE -> create();
+            case UPDATE -> update();
+            case DELETE -> delete();
+        };
+    }
+
+    private CompletableFuture<Integer> create() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode ticket = objectMapper.createObjectNode()
+                .put("requesterName", requesterName(random))
+                .put("status", TicketStatus.OPEN.name())
+                .put("priority", pick(Priority.values()).name())
+                .put("category", pick(CATEGORIES))
+                .put("estimatedCost", random.nextInt(0, 1_000))
+                .put("currency", pick(Currency.values()).name())
+                .put("dueDate", now.toLocalDate().plusDays(random.nextInt(1, 60)).toString());
+        HttpRequest request = json(HttpRequest.newBuilder(uri("")), "POST", ticket).build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() == 201) {
+                created.add(read(response.body()).get("id").asLong());
+            }
+            return response.statusCode();
+        });
+    }
+
+    // Leer-modificar-escribir: GET /{id} y PUT con la versión leída (409 si otro cambio se adelantó)
+    private CompletableFuture<Integer> update() {
+        String path = "/" + randomId();
+        HttpRequest read = HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT).GET().build();
+        return http.sendAsync(read, HttpResponse.BodyHandlers.ofString()).thenCompose(response -> {
+            if (response.statusCode() != 200) {
+                return CompletableFuture.completedFuture(response.statusCode());
+            }
+            ObjectNode ticket = (ObjectNode) read(response.body());
+            ticket.put("priority", pick(Priority.values()).name());
+            ticket.put("status", pick(new TicketStatus[]{TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED}).name());
+            return send(json(HttpRequest.newBuilder(uri(path)), "PUT", ticket));
+        });
+    }
+
+    private CompletableFuture<Integer> delete() {
+        Long id = created.poll();
+        return send(HttpRequest.newBuilder(uri("/" + (id != null ? id : randomId()))).DELETE());
+    }
+
+    private String listQuery() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringJoiner query = new StringJoiner("&", "?", "");
+        if (random.nextInt(100) < 30) {
+            // Fragmento de un apellido o nombre sembrado: lo que escribe un agente en el buscador
+            String word = random.nextBoolean() ? pick(LAST_NAMES) : pick(FIRST_NAMES);
+            int length = random.nextInt(3, word.length() + 1);
+            int start = random.nextInt(0, word.length() - length + 1);
+            query.add("q=" + encode(word.substring(start, start + length).toLowerCase()));
+        }
+        if (random.nextInt(100) < 50) {
+            query.add("status=" + pick(TicketStatus.values()));
+        }
+        if (random.nextInt(100) < 30) {
+            query.add("currency=" + pick(Currency.values()));
+        }
+        if (random.nextInt(100) < 30) {
+            int minCost = random.nextInt(0, 800);
+            query.add("minCost=" + minCost);
+            query.add("maxCost=" + (minCost + random.nextInt(50, 500)));
+        }
+        if (random.nextInt(100) < 30) {
+            LocalDateTime from = now.minusDays(random.nextInt(1, HISTORY_DAYS));
+            query.add("from=" + from.withNano(0));
+            query.add("to=" + from.plusDays(random.nextInt(1, 90)).withNano(0));
+        }
+        query.add("page=" + (random.nextInt(100) < 80 ? 0 : random.nextInt(1, 5)));
+        query.add("size=20");
+        query.add("sort=createdAt,desc");
+        return query.toString();
+    }
+
+    private CompletableFuture<Integer> send(HttpRequest.Builder request) {
+        return http.sendAsync(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder request, String method, JsonNode body) {
+        try {
+            return request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUri + path);
+    }
+
+    private long randomId() {
+        return seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+    }
+
+    static String requesterName(ThreadLocalRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static <T> T pick(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void behavesLikeAHashMapUnderRandomOperations() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Claves en un rango chico: muchas colisiones, reemplazos y borrados en medio de cadenas
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.getOrDefault(key, LongIntHashMap.MISSING), map.remove(key));
+                reference.remove(key);
+            } else {
+                int value = random.nextInt(1_000);
+                assertEquals(reference.getOrDefault(key, LongIntHashMap.MISSING), map.put(key, value));
+                reference.put(key, value);
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        reference.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Set<Long> keys = new HashSet<>();
+        map.forEachKey(keys::add);
+        assertEquals(reference.keySet(), keys);
+    }
+
+    @Test
+    void clearReleasesEverything() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, 1);
+        }
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(LongIntHashMap.MISSING, map.get(10));
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// mvn -Pbenchmark test -Dtest=SupportTicketBulkBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest
+class SupportTicketBulkBenchmarkTest {
+
+    private static final int TICKETS = 10_000;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareOneByOneAgainstBulk() {
+        // Calentamiento de ambos caminos
+        oneByOne(2_000);
+        bulk(2_000);
+        repository.deleteAllInBatch();
+
+        double single = oneByOne(TICKETS);
+        repository.deleteAllInBatch();
+        double batched = bulk(TICKETS);
+
+        System.out.printf("create uno a uno: %.0f tickets/s | createAll por lotes: %.0f tickets/s (x%.1f)%n",
+                single, batched, batched / single);
+    }
+
+    private double oneByOne(int count) {
+        List<SupportTicket> tickets = tickets(count);
+        long start = System.nanoTime();
+        tickets.forEach(service::create);
+        return count / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private double bulk(int count) {
+        List<SupportTicket> tickets = tickets(count);
+        long start = System.nanoTime();
+        BulkResult result = service.createAll(tickets);
+        double rate = count / ((System.nanoTime() - start) / 1e9);
+        assertEquals(count, result.succeeded());
+        return rate;
+    }
+
+    private static List<SupportTicket> tickets(int count) {
+        List<SupportTicket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(ticket("Integración " + i));
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.BulkItemResult;
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.tickets.bulk.batch-size=2")
+class SupportTicketBulkTest {
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void createAllReportsInvalidItemsAndPersistsTheRest() {
+        SupportTicket invalid = ticket("Sin costo");
+        invalid.setEstimatedCost(null);
+        List<SupportTicket> tickets = List.of(ticket("Ana"), invalid, ticket("Luis"), ticket("Eva"), ticket("Juan"));
+
+        BulkResult result = service.createAll(new ArrayList<>(tickets));
+
+        assertEquals(5, result.received());
+        assertEquals(4, result.succeeded());
+        BulkItemResult rejected = result.items().get(1);
+        assertEquals(BulkItemResult.Outcome.INVALID, rejected.outcome());
+        assertTrue(rejected.errors().containsKey("estimatedCost"));
+        assertNotNull(result.items().get(4).id());
+        assertNotNull(result.items().get(4).ticketNumber());
+        assertEquals(4, repository.count());
+    }
+
+    @Test
+    void createAllIsolatesTheItemThatBreaksABatch() {
+        SupportTicket first = ticket("Ana");
+        first.setTicketNumber("ST-DUP");
+        SupportTicket duplicate = ticket("Luis");
+        duplicate.setTicketNumber("ST-DUP");
+
+        BulkResult result = service.createAll(new ArrayList<>(List.of(first, duplicate, ticket("Eva"))));
+
+        assertEquals(BulkItemResult.Outcome.CREATED, result.items().get(0).outcome());
+        assertEquals(BulkItemResult.Outcome.FAILED, result.items().get(1).outcome());
+        assertEquals(BulkItemResult.Outcome.CREATED, result.items().get(2).outcome());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void updateAllAppliesChangesAndReportsMissingIds() {
+        SupportTicket saved = service.create(ticket("Ana"));
+        SupportTicket change = ticket("Ana María");
+        change.setId(saved.getId());
+        change.setStatus(TicketStatus.RESOLVED);
+        SupportTicket missing = ticket("Nadie");
+        missing.setId(-1L);
+        SupportTicket withoutId = ticket("Sin id");
+
+        BulkResult result = service.updateAll(List.of(change, missing, withoutId));
+
+        assertEquals(BulkItemResult.Outcome.UPDATED, result.items().get(0).outcome());
+        assertEquals(BulkItemResult.Outcome.NOT_FOUND, result.items().get(1).outcome());
+        assertEquals(BulkItemResult.Outcome.INVALID, result.items().get(2).outcome());
+        SupportTicketView reloaded = service.getById(saved.getId());
+        assertEquals("Ana María", reloaded.requesterName());
+        assertEquals(TicketStatus.RESOLVED, reloaded.status());
+        assertEquals(saved.getTicketNumber(), reloaded.ticketNumber());
+    }
+
+    @Test
+    void updateAllReportsStaleVersionsAsConflicts() {
+        SupportTicket first = service.create(ticket("Ana"));
+        SupportTicket second = service.create(ticket("Luis"));
+        long readVersion = first.getVersion();
+        service.update(first.getId(), ticket("Ana (otro usuario)"));
+
+        SupportTicket stale = ticket("Ana María");
+        stale.setId(first.getId());
+        stale.setVersion(readVersion);
+        SupportTicket current = ticket("Luis Alberto");
+        current.setId(second.getId());
+        current.setVersion(second.getVersion());
+
+        BulkResult result = service.updateAll(List.of(stale, current));
+
+        assertEquals(BulkItemResult.Outcome.CONFLICT, result.items().get(0).outcome());
+        assertTrue(result.items().get(0).errors().containsKey("version"));
+        assertEquals(BulkItemResult.Outcome.UPDATED, result.items().get(1).outcome());
+        assertEquals(1, result.failed());
+        assertEquals("Ana (otro usuario)", service.getById(first.getId()).requesterName());
+        assertEquals("Luis Alberto", service.getById(second.getId()).requesterName());
+    }
+
+    @Test
+    void createIgnoresAClientSuppliedIdLikeCreateAll() {
+        SupportTicket existing = service.create(ticket("Ana"));
+        SupportTicket withId = ticket("Luis");
+        withId.setId(existing.getId());
+
+        SupportTicket saved = service.create(withId);
+
+        assertNotEquals(existing.getId(), saved.getId());
+        assertEquals("Ana", service.getById(existing.getId()).requesterName());
+        assertEquals(2, repository.count());
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.velasqueztupac_leecion1.dto.BulkResult;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SupportTicketCacheTest {
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        cacheManager.getCache(TicketCacheInvalidator.CACHE_NAME).clear();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        SupportTicket saved = service.create(ticket("Ana"));
+        CacheStats before = stats();
+
+        service.getById(saved.getId());
+        service.getById(saved.getId());
+        service.getById(saved.getId());
+
+        CacheStats delta = stats().minus(before);
+        assertEquals(1, delta.missCount());
+        assertEquals(2, delta.hitCount());
+    }
+
+    @Test
+    void writesInvalidateTheCachedTicket() {
+        SupportTicket saved = service.create(ticket("Ana"));
+        service.getById(saved.getId());
+
+        service.update(saved.getId(), ticket("Ana María"));
+        assertEquals("Ana María", service.getById(saved.getId()).requesterName());
+
+        SupportTicket bulkChange = ticket("Ana Lucía");
+        bulkChange.setId(saved.getId());
+        BulkResult result = service.updateAll(List.of(bulkChange));
+        assertEquals(1, result.succeeded());
+        assertEquals("Ana Lucía", service.getById(saved.getId()).requesterName());
+
+        service.delete(saved.getId());
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.getById(saved.getId()));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void cachedValuesSurviveJdkSerialization() throws Exception {
+        // Lo que haría una caché externa con el serializador JDK (spring.cache.type=redis)
+        SupportTicket saved = service.create(ticket("Ana"));
+        service.getById(saved.getId());
+        Object cached = cacheManager.getCache(TicketCacheInvalidator.CACHE_NAME).get(saved.getId()).get();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(cached);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            SupportTicketView restored = (SupportTicketView) in.readObject();
+            assertEquals(cached, restored);
+        }
+    }
+
+    private CacheStats stats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(TicketCacheInvalidator.CACHE_NAME);
+        return cache.getNativeCache().stats();
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn -Pbenchmark test -Dtest=SupportTicketCursorPaginationBenchmarkTest
+// Latencia del modo cursor frente a OFFSET en la página 10.000; la corrección de las páginas
+// se verifica en SupportTicketCursorPaginationTest con pocas filas.
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupportTicketCursorPaginationBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @BeforeAll
+    void populate() {
+        // Tres tickets por segundo: fuerza empates en createdAt que debe resolver el ID
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{
+                    "ST-P" + i, "Solicitante " + i, i % 2 == 0 ? "OPEN" : "CLOSED", "LOW", "Red",
+                    i % 500, "USD", Timestamp.valueOf(base.plusSeconds(i / 3)), LocalDate.of(2030, 1, 1)
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO support_tickets
+                (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date)
+                VALUES (NEXT VALUE FOR support_tickets_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?)""", batch);
+        // Las filas se insertaron por JDBC, fuera del servicio: el índice de 'q' debe releerlas
+        searchIndex.rebuild();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM support_tickets");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void latencyStaysFlatFromFirstToDeepPage() {
+        // Cursor equivalente al final de la página 9.999 (la siguiente es la 10.000)
+        int deepOffset = (10_000 - 1) * PAGE_SIZE - 1;
+        SupportTicketCursor deep = jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM support_tickets ORDER BY created_at, id LIMIT 1 OFFSET ?",
+                (rs, n) -> new SupportTicketCursor("createdAt", Sort.Direction.ASC,
+                        rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                deepOffset);
+        assertNotNull(deep);
+        String deepCursor = deep.encode();
+        Sort sort = Sort.by("createdAt");
+
+        long firstPage = medianNanos(() -> service.getAllByCursor(null, null, null, null, null, null, null, false, sort, null, PAGE_SIZE));
+        long deepPage = medianNanos(() -> service.getAllByCursor(null, null, null, null, null, null, null, false, sort, deepCursor, PAGE_SIZE));
+        long deepOffsetPage = medianNanos(() -> service.getAll(null, null, null, null, null, null, null, false,
+                PageRequest.of(10_000 - 1, PAGE_SIZE, Sort.by("createdAt", "id"))));
+
+        System.out.printf("keyset p1=%.2fms keyset p10000=%.2fms offset p10000=%.2fms%n",
+                firstPage / 1e6, deepPage / 1e6, deepOffsetPage / 1e6);
+        // Margen amplio para no depender del ruido de la máquina: lo que se verifica
+        // es que el costo no crece con la profundidad (OFFSET sí lo hace)
+        assertTrue(deepPage < firstPage * 3 + 2_000_000,
+                "La página profunda no debería ser más lenta que la primera");
+    }
+
+    private static long medianNanos(Supplier<?> call) {
+        for (int i = 0; i < 200; i++) {
+            call.get();
+        }
+        long[] samples = new long[31];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            call.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
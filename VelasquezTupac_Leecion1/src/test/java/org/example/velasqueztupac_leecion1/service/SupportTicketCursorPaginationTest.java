@@ -0,0 +1,95 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.CursorPage;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupportTicketCursorPaginationTest {
+
+    private static final int ROWS = 300;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @BeforeAll
+    void populate() {
+        // Tres tickets por segundo: fuerza empates en createdAt que debe resolver el ID
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{
+                    "ST-P" + i, "Solicitante " + i, i % 2 == 0 ? "OPEN" : "CLOSED", "LOW", "Red",
+                    i % 500, "USD", Timestamp.valueOf(base.plusSeconds(i / 3)), LocalDate.of(2030, 1, 1)
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO support_tickets
+                (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date)
+                VALUES (NEXT VALUE FOR support_tickets_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?)""", batch);
+        // Las filas se insertaron por JDBC, fuera del servicio: el índice de 'q' debe releerlas
+        searchIndex.rebuild();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM support_tickets");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void cursorPagesMatchOffsetPagesIncludingTies() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+        String cursor = null;
+        for (int page = 0; page < 5; page++) {
+            CursorPage<SupportTicketView> keyset = service.getAllByCursor(
+                    null, TicketStatus.OPEN, null, null, null, null, null, false, sort, cursor, PAGE_SIZE);
+            List<SupportTicketView> offset = service.getAll(
+                    null, TicketStatus.OPEN, null, null, null, null, null, false,
+                    PageRequest.of(page, PAGE_SIZE, sort.and(Sort.by(Sort.Direction.DESC, "id")))).getContent();
+
+            assertEquals(ids(offset), ids(keyset.content()));
+            assertTrue(keyset.hasNext());
+            cursor = keyset.nextCursor();
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<SupportTicketView> page = service.getAllByCursor(
+                "ST-P" + (ROWS - 1), null, null, null, null, null, null, false, Sort.by("id"), null, PAGE_SIZE);
+
+        assertEquals(1, page.content().size());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    private static List<Long> ids(List<SupportTicketView> tickets) {
+        return tickets.stream().map(SupportTicketView::id).toList();
+    }
+}
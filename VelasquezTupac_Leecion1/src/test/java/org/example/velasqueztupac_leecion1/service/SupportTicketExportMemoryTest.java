@@ -0,0 +1,83 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Se ejecuta con -Pbenchmark en una JVM aparte con -Xmx160m (ver pom.xml):
+// cargar 1M de entidades en una List necesitaría varias veces ese heap.
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/export-memory;MODE=MySQL;CACHE_SIZE=8192",
+        "app.tickets.search.enabled=false"
+})
+class SupportTicketExportMemoryTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int CHUNK = 100_000;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportsAMillionRowsInConstantMemory() throws Exception {
+        for (int start = 1; start <= ROWS; start += CHUNK) {
+            jdbcTemplate.update("""
+                    INSERT INTO support_tickets
+                    (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date)
+                    SELECT NEXT VALUE FOR support_tickets_seq, 'ST-M' || X, 'Solicitante ' || X, 'OPEN', 'LOW', 'Red',
+                           MOD(X, 1000), 'USD', TIMESTAMP '2024-01-01 00:00:00', DATE '2030-01-01'
+                    FROM SYSTEM_RANGE(?, ?)""", start, start + CHUNK - 1);
+        }
+        resetPeakUsage();
+
+        for (TicketExportFormat format : TicketExportFormat.values()) {
+            CountingOutputStream out = new CountingOutputStream();
+            long start = System.nanoTime();
+            long rows = service.export(null, null, null, null, null, null, null, false, format, out);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertEquals(ROWS, rows);
+            System.out.printf("%s: %d filas, %.1f MB en %.1f s (%.0f filas/s), heap máx. %s MB, pico de heap %d MB%n",
+                    format, rows, out.count / 1e6, seconds, rows / seconds,
+                    Runtime.getRuntime().maxMemory() / (1024 * 1024), peakHeapUsage() / (1024 * 1024));
+        }
+    }
+
+    private static void resetPeakUsage() {
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn -Pbenchmark test -Dtest=SupportTicketReadBenchmarkTest
+// Compara GET /support-tickets con entidades administradas (antes) y con proyecciones (ahora),
+// incluyendo la serialización JSON que haría el controlador.
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupportTicketReadBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @BeforeAll
+    void populate() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{
+                    "ST-R" + i, "Solicitante " + i, "OPEN", "LOW", "Red",
+                    i % 500, "USD", Timestamp.valueOf(base.plusMinutes(i)), LocalDate.of(2030, 1, 1)
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO support_tickets
+                (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date)
+                VALUES (NEXT VALUE FOR support_tickets_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?)""", batch);
+        searchIndex.rebuild();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM support_tickets");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void compareEntitiesAgainstProjections() {
+        for (int size : new int[]{10, 100, 1000}) {
+            Pageable page = PageRequest.of(1, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+            // Antes: transacción de escritura + entidades en el contexto de persistencia
+            Result entities = measure(() -> transactionTemplate.execute(status ->
+                    serialize(repository.findAll(page))));
+            // Ahora: transacción readOnly + SELECT new SupportTicketView(...)
+            Result views = measure(() ->
+                    serialize(service.getAll(null, null, null, null, null, null, null, false, page)));
+
+            System.out.printf("size=%4d | entidades: %8.1f KB/req p99 %6.2f ms | proyecciones: %8.1f KB/req p99 %6.2f ms%n",
+                    size, entities.kbPerRequest(), entities.p99Millis(), views.kbPerRequest(), views.p99Millis());
+            assertTrue(views.kbPerRequest() < entities.kbPerRequest(),
+                    "la proyección debería asignar menos memoria que las entidades (size=" + size + ")");
+        }
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Result measure(Runnable request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        // Bytes asignados por el hilo actual (HotSpot); excluye el resto de la JVM
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] nanos = new long[ITERATIONS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            request.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Arrays.sort(nanos);
+        long p99 = nanos[(int) Math.ceil(ITERATIONS * 0.99) - 1];
+        return new Result(allocated / (double) ITERATIONS / 1024, p99 / 1e6);
+    }
+
+    private record Result(double kbPerRequest, double p99Millis) {
+    }
+}
@@ -0,0 +1,216 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.velasqueztupac_leecion1.dto.CursorPage;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.ArchivedSupportTicketRepository;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketArchiverTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private TicketArchiver archiver;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private ArchivedSupportTicketRepository archiveRepository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private TicketStatistics statistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @BeforeEach
+    @AfterEach
+    void reset() {
+        repository.deleteAll();
+        archiveRepository.deleteAll();
+        searchIndex.rebuild();
+        statistics.reconcile();
+    }
+
+    @Test
+    void movesOnlyOldClosedOrCancelledTickets() throws Exception {
+        long oldClosed = insert("Ana", TicketStatus.CLOSED, BASE);
+        long oldCancelled = insert("Luis", TicketStatus.CANCELLED, BASE.plusDays(1));
+        long oldOpen = insert("Eva", TicketStatus.OPEN, BASE.plusDays(2));
+        long recentClosed = insert("Raúl", TicketStatus.CLOSED, LocalDateTime.now());
+
+        assertEquals(2, archiver.archive(CUTOFF));
+        assertEquals(0, archiver.archive(CUTOFF));
+
+        assertEquals(List.of(oldOpen, recentClosed), ids(service.getAll(null, null, null, null, null, null, null, false,
+                PageRequest.of(0, 10, Sort.by("createdAt"))).getContent()));
+        assertEquals(List.of(oldCancelled, oldClosed), archiveRepository.findAll(Sort.by("id").descending()).stream()
+                .map(archived -> archived.getId()).toList());
+        // getById no distingue: el archivado se lee igual
+        assertEquals(TicketStatus.CLOSED, service.getById(oldClosed).status());
+        assertEquals(TicketStatus.CANCELLED, service.getById(oldCancelled).status());
+
+        assertEquals(2, export(false));
+        assertEquals(4, export(true));
+    }
+
+    @Test
+    void includeArchivedMergesBothTablesInOrder() {
+        // Pares abiertos (quedan), impares cerrados (se archivan), intercalados por createdAt
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            expected.add(insert("Solicitante " + i, i % 2 == 0 ? TicketStatus.OPEN : TicketStatus.CLOSED, BASE.plusHours(i)));
+        }
+        assertEquals(4, archiver.archive(CUTOFF));
+
+        List<Long> offsetWalk = new ArrayList<>();
+        Page<SupportTicketView> page;
+        int number = 0;
+        do {
+            page = service.getAll(null, null, null, null, null, null, null, true,
+                    PageRequest.of(number++, 3, Sort.by(Sort.Direction.DESC, "createdAt")));
+            offsetWalk.addAll(ids(page.getContent()));
+            assertEquals(8, page.getTotalElements());
+        } while (page.hasNext());
+        Collections.reverse(offsetWalk);
+        assertEquals(expected, offsetWalk);
+
+        List<Long> cursorWalk = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<SupportTicketView> keyset = service.getAllByCursor(
+                    null, null, null, null, null, null, null, true, Sort.by("createdAt"), cursor, 3);
+            cursorWalk.addAll(ids(keyset.content()));
+            cursor = keyset.nextCursor();
+        } while (cursor != null);
+        assertEquals(expected, cursorWalk);
+
+        assertEquals(4, service.getAll(null, null, null, null, null, null, null, false, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void archivedTicketsAreReadOnlyButStillSearchableAndCounted() throws Exception {
+        long archived = insert("Rosa Zamora", TicketStatus.CLOSED, BASE);
+        searchIndex.rebuild();
+        archiver.archive(CUTOFF);
+
+        mvc.perform(get("/api/v1/support-tickets/" + archived))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requesterName").value("Rosa Zamora"));
+        mvc.perform(patch("/api/v1/support-tickets/" + archived)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0, \"status\": \"OPEN\"}"))
+                .andExpect(status().isConflict());
+        mvc.perform(delete("/api/v1/support-tickets/" + archived)).andExpect(status().isConflict());
+        mvc.perform(delete("/api/v1/support-tickets/" + (archived + 1000))).andExpect(status().isNotFound());
+
+        mvc.perform(get("/api/v1/support-tickets?q=zamora"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mvc.perform(get("/api/v1/support-tickets?q=zamora&includeArchived=true"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(archived));
+
+        searchIndex.rebuild();
+        statistics.reconcile();
+        assertEquals(Long.valueOf(archived), searchIndex.candidates("zamora").orElseThrow().iterator().next());
+        assertEquals(1, statistics.stats(null, null).total());
+    }
+
+    @Test
+    void textSortsAreRejectedWhenMergingTheArchive() throws Exception {
+        // La collation de la base (sin acentos ni mayúsculas) no se puede reproducir al mezclar en Java
+        mvc.perform(get("/api/v1/support-tickets?includeArchived=true&sort=requesterName"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/v1/support-tickets?includeArchived=true&sort=status,desc"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/v1/support-tickets?includeArchived=true&sort=dueDate,desc"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/v1/support-tickets?sort=requesterName"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void archivingChangesTheListETagAndIsMeasured() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            insert("Cerrado " + i, TicketStatus.CLOSED, BASE.plusHours(i));
+        }
+        insert("Abierto", TicketStatus.OPEN, BASE);
+        double movedBefore = registry.get("tickets.archive.moved").counter().count();
+        String listETag = mvc.perform(get("/api/v1/support-tickets")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        archiver.archive(CUTOFF);
+
+        mvc.perform(get("/api/v1/support-tickets").header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(listETag)))
+                .andExpect(jsonPath("$.totalElements").value(1));
+        assertEquals(3, registry.get("tickets.archive.moved").counter().count() - movedBefore);
+        assertEquals(1, registry.get("tickets.active.rows").gauge().value());
+        assertEquals(3, registry.get("tickets.archived.rows").gauge().value());
+        assertTrue(registry.get("tickets.archive.batch").timer().count() > 0);
+    }
+
+    private long insert(String requester, TicketStatus status, LocalDateTime createdAt) {
+        long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR support_tickets_seq", Long.class);
+        jdbcTemplate.update("""
+                        INSERT INTO support_tickets
+                        (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date, version)
+                        VALUES (?, ?, ?, ?, 'LOW', 'Red', 10, 'USD', ?, ?, 0)""",
+                id, "ST-A" + id, requester, status.name(), Timestamp.valueOf(createdAt), LocalDate.of(2030, 1, 1));
+        return id;
+    }
+
+    private long export(boolean includeArchived) throws Exception {
+        return service.export(null, null, null, null, null, null, null, includeArchived, TicketExportFormat.NDJSON, new ByteArrayOutputStream());
+    }
+
+    private static List<Long> ids(List<SupportTicketView> views) {
+        return views.stream().map(SupportTicketView::id).toList();
+    }
+}
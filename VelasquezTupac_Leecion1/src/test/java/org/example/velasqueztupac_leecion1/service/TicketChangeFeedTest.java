@@ -0,0 +1,61 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.TicketChange;
+import org.example.velasqueztupac_leecion1.dto.TicketChangeDelta;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketChangeFeedTest {
+
+    private static final long START = 1_000;
+
+    @Test
+    void returnsOnlyTheChangesAfterTheGivenSequence() {
+        TicketChangeFeed feed = new TicketChangeFeed(8, 100, START);
+        for (long id = 1; id <= 5; id++) {
+            feed.append("CREATED", id, null);
+        }
+
+        TicketChangeDelta delta = feed.since(START + 2);
+
+        assertFalse(delta.resyncRequired());
+        assertFalse(delta.hasMore());
+        assertEquals(START + 5, delta.latest());
+        assertEquals(3, delta.changes().size());
+        assertEquals(START + 3, delta.changes().get(0).sequence());
+        assertEquals(5L, delta.changes().get(2).id());
+        assertTrue(feed.since(START + 5).changes().isEmpty());
+    }
+
+    @Test
+    void pagesLargeDeltas() {
+        TicketChangeFeed feed = new TicketChangeFeed(100, 10, START);
+        for (long id = 1; id <= 25; id++) {
+            feed.append("UPDATED", id, null);
+        }
+
+        TicketChangeDelta first = feed.since(START);
+        TicketChange last = first.changes().get(first.changes().size() - 1);
+        TicketChangeDelta second = feed.since(last.sequence());
+
+        assertTrue(first.hasMore());
+        assertEquals(10, first.changes().size());
+        assertEquals(START + 11, second.changes().get(0).sequence());
+    }
+
+    @Test
+    void requiresResyncOnceTheBufferWasOverrun() {
+        TicketChangeFeed feed = new TicketChangeFeed(4, 100, START);
+        for (long id = 1; id <= 10; id++) {
+            feed.append("CREATED", id, null);
+        }
+
+        // Quedan las secuencias 7..10: desde la 6 todavía se puede continuar, desde la 5 no
+        assertFalse(feed.since(START + 6).resyncRequired());
+        assertEquals(4, feed.since(START + 6).changes().size());
+        assertTrue(feed.since(START + 5).resyncRequired());
+        // Secuencias de otra ejecución del servidor (mayores que la actual) también
+        assertTrue(feed.since(START + 99).resyncRequired());
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn -Pbenchmark test -Dtest=TicketDeadlineIndexBenchmarkTest
+// Costo de alta, reprogramación, baja y vencimiento con un millón de tickets abiertos repartidos
+// en un año de fechas límite, y memoria retenida frente a colecciones con objetos (Long, LocalDate).
+@Tag("benchmark")
+class TicketDeadlineIndexBenchmarkTest {
+
+    // Un millón, o menos si el heap no alcanza (la ejecución small-heap también corre con -Dtest)
+    private static final int TICKETS = (int) Math.min(1_000_000, Runtime.getRuntime().maxMemory() / 400);
+    private static final int DAYS = 365;
+    private static final LocalDate START = LocalDate.now().plusDays(1);
+
+    @Test
+    void insertCancelAndExpireWithAMillionOpenTickets() {
+        LocalDate[] dueDates = new LocalDate[DAYS];
+        for (int d = 0; d < DAYS; d++) {
+            dueDates[d] = START.plusDays(d);
+        }
+
+        // El índice queda inalcanzable al volver, así la línea base no compite con él por el heap
+        Result index = measureIndex(dueDates);
+
+        long heapBaselineBefore = usedHeap();
+        Object baseline = boxedBaseline(dueDates);
+        long heapBaseline = usedHeap() - heapBaselineBefore;
+        assertTrue(baseline != null);
+
+        System.out.printf("%d tickets | alta %.0f ns | reprogramación %.0f ns | baja %.0f ns | vencer %.0f ns/ticket%n",
+                TICKETS, index.insertNanos() / (double) TICKETS, index.rescheduleNanos() / (double) TICKETS,
+                index.cancelNanos() / (TICKETS / 2.0), index.expireNanos() / (TICKETS / 2.0));
+        System.out.printf("memoria retenida | índice primitivo %d bytes/ticket | TreeMap<LocalDate, Set<Long>> + HashMap<Long, LocalDate> %d bytes/ticket%n",
+                index.heapBytes() / TICKETS, heapBaseline / TICKETS);
+        assertTrue(index.heapBytes() < heapBaseline, "el índice primitivo debería ocupar menos que las colecciones con objetos");
+    }
+
+    private static Result measureIndex(LocalDate[] dueDates) {
+        LongAdder fired = new LongAdder();
+        ApplicationEventPublisher publisher = event -> fired.increment();
+
+        long heapBefore = usedHeap();
+        TicketDeadlineIndex index = new TicketDeadlineIndex();
+        ReflectionTestUtils.setField(index, "eventPublisher", publisher);
+        long insert = time(() -> {
+            for (long id = 1; id <= TICKETS; id++) {
+                index.schedule(id, dueDates[(int) (id % DAYS)]);
+            }
+        });
+        long heap = usedHeap() - heapBefore;
+
+        long reschedule = time(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (long id = 1; id <= TICKETS; id++) {
+                index.schedule(id, dueDates[random.nextInt(DAYS)]);
+            }
+        });
+        long cancel = time(() -> {
+            for (long id = 2; id <= TICKETS; id += 2) {
+                index.cancel(id);
+            }
+        });
+        assertEquals(TICKETS / 2, index.size());
+
+        // Pasa todo el año: cada ticket que queda vence una vez
+        ReflectionTestUtils.setField(index, "notifiedThrough", START.minusDays(1).toEpochDay());
+        long expire = time(() -> assertEquals(TICKETS / 2, index.expire(START.plusDays(DAYS))));
+        assertEquals(TICKETS / 2, fired.sum());
+        return new Result(insert, reschedule, cancel, expire, heap);
+    }
+
+    // Lo mismo con colecciones estándar, solo para comparar la memoria
+    private static Object boxedBaseline(LocalDate[] dueDates) {
+        Map<Long, LocalDate> dayById = new HashMap<>();
+        TreeMap<LocalDate, Set<Long>> slots = new TreeMap<>();
+        for (long id = 1; id <= TICKETS; id++) {
+            LocalDate day = dueDates[(int) (id % DAYS)];
+            dayById.put(id, day);
+            slots.computeIfAbsent(day, key -> new HashSet<>()).add(id);
+        }
+        return new Object[]{dayById, slots};
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record Result(long insertNanos, long rescheduleNanos, long cancelNanos, long expireNanos, long heapBytes) {
+    }
+}
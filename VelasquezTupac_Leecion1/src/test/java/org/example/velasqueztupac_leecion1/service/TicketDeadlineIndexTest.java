@@ -0,0 +1,140 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.dto.TicketDeadline;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class TicketDeadlineIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TicketDeadlineIndex deadlines;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void reset() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+        deadlines.load();
+    }
+
+    @Test
+    void servesOverdueAndDueWithinWithoutQueries() throws Exception {
+        SupportTicket late = service.create(ticket("Ana", TicketStatus.OPEN, TODAY.minusDays(3)));
+        SupportTicket lateToo = service.create(ticket("Ana", TicketStatus.IN_PROGRESS, TODAY.minusDays(1)));
+        service.create(ticket("Ana", TicketStatus.CLOSED, TODAY.minusDays(5)));
+        SupportTicket dueToday = service.create(ticket("Ana", TicketStatus.OPEN, TODAY));
+        service.create(ticket("Ana", TicketStatus.OPEN, TODAY.plusDays(10)));
+        double before = statements("TicketSlaController.overdue");
+
+        mvc.perform(get("/api/v1/support-tickets/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.tickets[0].id").value(late.getId()))
+                .andExpect(jsonPath("$.tickets[1].id").value(lateToo.getId()));
+
+        assertEquals(0, statements("TicketSlaController.overdue") - before);
+        // Vence al terminar hoy: dentro de 24 h siempre; dentro de 11 días entra también el de +10
+        assertEquals(List.of(new TicketDeadline(dueToday.getId(), TODAY)), deadlines.dueWithin(24, 100).tickets());
+        assertEquals(2, deadlines.dueWithin(24 * 11, 100).count());
+        mvc.perform(get("/api/v1/support-tickets/due-within?hours=-1")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void followsStatusAndDueDateChanges() {
+        SupportTicket ticket = service.create(ticket("Ana", TicketStatus.OPEN, TODAY.plusDays(2)));
+        assertTrue(deadlines.contains(ticket.getId()));
+
+        service.patch(ticket.getId(), patch(0L, TicketStatus.RESOLVED, null));
+        assertFalse(deadlines.contains(ticket.getId()));
+
+        // Reabrir sin enviar la fecha: se lee de la fila
+        service.patch(ticket.getId(), patch(1L, TicketStatus.IN_PROGRESS, null));
+        assertEquals(1, deadlines.dueWithin(24 * 3, 100).count());
+
+        service.patch(ticket.getId(), patch(2L, null, TODAY.plusDays(30)));
+        assertEquals(0, deadlines.dueWithin(24 * 3, 100).count());
+        assertEquals(1, deadlines.dueWithin(24 * 31, 100).count());
+
+        service.delete(ticket.getId());
+        assertEquals(0, deadlines.size());
+    }
+
+    @Test
+    void firesOverdueEventsWhenTheDayEnds() {
+        SupportTicket dueToday = service.create(ticket("Ana", TicketStatus.OPEN, TODAY));
+        SupportTicket dueTomorrow = service.create(ticket("Ana", TicketStatus.OPEN, TODAY.plusDays(1)));
+        events.clear();
+
+        assertEquals(0, deadlines.expire(TODAY));
+        assertEquals(1, deadlines.expire(TODAY.plusDays(1)));
+        assertEquals(0, deadlines.expire(TODAY.plusDays(1)));
+
+        assertEquals(List.of(new TicketOverdueEvent(dueToday.getId(), TODAY)),
+                events.stream(TicketOverdueEvent.class).toList());
+        // Vencido sigue abierto: aparece en /overdue hasta que se cierre
+        assertTrue(deadlines.contains(dueToday.getId()));
+        assertTrue(deadlines.contains(dueTomorrow.getId()));
+    }
+
+    @Test
+    void ticketsOpenedAlreadyOverdueAreNotifiedRightAway() {
+        events.clear();
+
+        SupportTicket late = service.create(ticket("Ana", TicketStatus.OPEN, TODAY.minusDays(2)));
+
+        assertEquals(List.of(new TicketOverdueEvent(late.getId(), TODAY.minusDays(2))),
+                events.stream(TicketOverdueEvent.class).toList());
+    }
+
+    private double statements(String handler) {
+        DistributionSummary summary = registry.find("tickets.db.statements.per.request").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private static SupportTicketPatch patch(long version, TicketStatus status, LocalDate dueDate) {
+        return new SupportTicketPatch(version, null, status, null, null, null, null, dueDate);
+    }
+}
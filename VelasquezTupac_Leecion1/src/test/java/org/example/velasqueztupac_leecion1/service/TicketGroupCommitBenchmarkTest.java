@@ -0,0 +1,108 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// mvn -Pbenchmark test -Dtest=TicketGroupCommitBenchmarkTest
+// Ráfaga de altas individuales desde CLIENTS hilos: una transacción por alta (modo apagado)
+// frente a la cola de group commit (modo encendido). Mide throughput y p99 por petición.
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "app.tickets.group-commit.enabled=true",
+        "app.tickets.group-commit.max-wait-ms=2",
+        "app.metrics.count-rows=false"
+})
+class TicketGroupCommitBenchmarkTest {
+
+    private static final int CLIENTS = 64;
+    private static final int WARMUP_PER_CLIENT = 50;
+    private static final int CREATES_PER_CLIENT = 200;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private TicketGroupCommitter groupCommit;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM support_tickets");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void compareIndividualTransactionsAgainstGroupCommit() throws Exception {
+        Consumer<SupportTicket> off = service::create;
+        Consumer<SupportTicket> on = ticket -> groupCommit.submit(ticket).join();
+
+        burst(off, WARMUP_PER_CLIENT);
+        burst(on, WARMUP_PER_CLIENT);
+        Result individual = burst(off, CREATES_PER_CLIENT);
+        Result grouped = burst(on, CREATES_PER_CLIENT);
+
+        System.out.printf("%d clientes x %d altas | una transacción por alta: %8.0f altas/s p99 %6.2f ms | group commit: %8.0f altas/s p99 %6.2f ms%n",
+                CLIENTS, CREATES_PER_CLIENT, individual.perSecond(), individual.p99Millis(), grouped.perSecond(), grouped.p99Millis());
+        assertEquals(2L * CLIENTS * (WARMUP_PER_CLIENT + CREATES_PER_CLIENT),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM support_tickets", Long.class));
+    }
+
+    private static Result burst(Consumer<SupportTicket> create, int perClient) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> latencies = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            latencies.add(clients.submit(() -> {
+                long[] nanos = new long[perClient];
+                start.await();
+                for (int i = 0; i < perClient; i++) {
+                    long begin = System.nanoTime();
+                    create.accept(ticket("Cliente " + client + " alta " + i));
+                    nanos[i] = System.nanoTime() - begin;
+                }
+                return nanos;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[CLIENTS * perClient];
+        int offset = 0;
+        for (Future<long[]> client : latencies) {
+            long[] nanos = client.get();
+            System.arraycopy(nanos, 0, all, offset, nanos.length);
+            offset += nanos.length;
+        }
+        long elapsed = System.nanoTime() - begin;
+        clients.shutdown();
+
+        Arrays.sort(all);
+        long p99 = all[(int) Math.ceil(all.length * 0.99) - 1];
+        return new Result(all.length / (elapsed / 1e9), p99 / 1e6);
+    }
+
+    private record Result(double perSecond, double p99Millis) {
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contexto propio (max-wait-ms distinto): la prueba deja el escritor detenido
+@SpringBootTest(properties = {
+        "app.tickets.group-commit.enabled=true",
+        "app.tickets.group-commit.max-wait-ms=1"
+})
+class TicketGroupCommitterTest {
+
+    @Autowired
+    private TicketGroupCommitter groupCommit;
+
+    @Test
+    void anErrorInTheWriterFailsTheBatchAndStopsAcceptingTickets() throws Exception {
+        // createAll limpia el ID de cada ticket válido: ahí salta el Error, ya dentro del hilo escritor
+        SupportTicket poisoned = new SupportTicket() {
+            @Override
+            public void setId(Long id) {
+                throw new AssertionError("fallo simulado");
+            }
+        };
+        SupportTicket source = ticket("Ana");
+        poisoned.setRequesterName(source.getRequesterName());
+        poisoned.setStatus(source.getStatus());
+        poisoned.setPriority(source.getPriority());
+        poisoned.setCategory(source.getCategory());
+        poisoned.setEstimatedCost(source.getEstimatedCost());
+        poisoned.setCurrency(source.getCurrency());
+        poisoned.setDueDate(source.getDueDate());
+
+        CompletableFuture<SupportTicket> result = groupCommit.submit(poisoned);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ResponseStatusException) failure.getCause()).getStatusCode());
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> groupCommit.submit(ticket("Luis")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+    }
+}
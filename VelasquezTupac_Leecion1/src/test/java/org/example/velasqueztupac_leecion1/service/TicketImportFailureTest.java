@@ -0,0 +1,123 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.ImportReport;
+import org.example.velasqueztupac_leecion1.repository.ImportCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contexto propio: la etapa de inserción muere con un Error (como un OutOfMemoryError) en el primer bloque
+@SpringBootTest(properties = {
+        "app.tickets.import.chunk-size=100",
+        "app.tickets.import.queue-capacity=50",
+        "app.tickets.import.base-dir=target/import-failure-test/in",
+        "app.tickets.import.work-dir=target/import-failure-test/work",
+        "app.tickets.import.finished-retention-ms=0"
+})
+class TicketImportFailureTest {
+
+    private static final Path BASE_DIR = Path.of("target/import-failure-test/in");
+
+    @Autowired
+    private TicketImportService importService;
+
+    @Autowired
+    private ImportCheckpointRepository checkpoints;
+
+    @AfterEach
+    void cleanUp() {
+        checkpoints.deleteAll();
+    }
+
+    @Test
+    void anErrorInTheWriterFailsTheJobInsteadOfBlockingTheParser() {
+        // 500 filas con una cola de 50: sin el fallo marcado, el parser esperaría para siempre en la cola llena
+        ImportReport report = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> importService.importStream(stream(csv(500)), TicketExportFormat.CSV, 0));
+
+        assertEquals("FAILED", report.status());
+        assertTrue(report.error().startsWith("AssertionError"), report.error());
+        assertEquals("FAILED", checkpoints.findById(report.jobId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void aFailedFileImportCanBeResumedAndFinishedJobsLeaveMemory() throws Exception {
+        Files.createDirectories(BASE_DIR);
+        Files.writeString(BASE_DIR.resolve("historico.csv"), csv(250));
+
+        ImportReport started = importService.startFileImport("historico.csv", TicketExportFormat.CSV);
+        ImportReport failed = awaitCompletion(started.jobId());
+        assertEquals("FAILED", failed.status());
+
+        // Ya no está en curso: no hay 409
+        importService.resume(started.jobId());
+        assertEquals("FAILED", awaitCompletion(started.jobId()).status());
+
+        // Retención 0: al registrar otro job el terminado sale de memoria y el reporte sale del checkpoint
+        // (sin contadores de la ejecución, como tras un reinicio)
+        importService.importStream(stream(csv(1)), TicketExportFormat.CSV, 0);
+        ImportReport fromCheckpoint = importService.getReport(started.jobId());
+        assertEquals("FAILED", fromCheckpoint.status());
+        assertEquals(0, fromCheckpoint.rowsRead());
+    }
+
+    private ImportReport awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ImportReport report = importService.getReport(jobId);
+            if (!"RUNNING".equals(report.status())) {
+                return report;
+            }
+            Thread.sleep(50);
+        }
+        fail("La importación no terminó a tiempo");
+        return null;
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder(TicketCsv.HEADER).append('\n');
+        for (int i = 1; i <= rows; i++) {
+            csv.append(",ST-F").append(i).append(",Solicitante ").append(i)
+                    .append(",CLOSED,LOW,Red,10.50,USD,2020-05-01T10:00,2020-05-10\n");
+        }
+        return csv.toString();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TestConfiguration
+    static class FailingImports {
+
+        // El servicio real para todo lo demás; importChunk lanza un Error dentro del hilo escritor
+        @Bean
+        @Primary
+        SupportTicketService failingImportService(SupportTicketServiceImpl real) {
+            return (SupportTicketService) Proxy.newProxyInstance(SupportTicketService.class.getClassLoader(),
+                    new Class<?>[]{SupportTicketService.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("importChunk")) {
+                            throw new AssertionError("fallo simulado");
+                        }
+                        try {
+                            return method.invoke(real, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.ImportReport;
+import org.example.velasqueztupac_leecion1.model.ImportCheckpoint;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.ImportCheckpointRepository;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.tickets.import.chunk-size=100",
+        "app.tickets.import.queue-capacity=50",
+        "app.tickets.import.base-dir=target/import-test/in",
+        "app.tickets.import.work-dir=target/import-test/work"
+})
+class TicketImportServiceTest {
+
+    private static final Path BASE_DIR = Path.of("target/import-test/in");
+
+    @Autowired
+    private TicketImportService importService;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private ImportCheckpointRepository checkpoints;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        checkpoints.deleteAll();
+    }
+
+    @Test
+    void importsCsvBodyAndWritesRejects() throws Exception {
+        StringBuilder csv = new StringBuilder(TicketCsv.HEADER).append('\n');
+        for (int i = 1; i <= 1000; i++) {
+            csv.append(csvRow(i)).append('\n');
+        }
+        csv.append(",ST-X1,Ana,OPEN,URGENTE,Red,10,USD,,2030-01-01\n");  // prioridad inexistente
+        csv.append(",ST-X2,Ana,OPEN,LOW,Red,-5,USD,,2030-01-01\n");      // costo negativo
+        csv.append(",ST-X3,Ana,OPEN\n");                                  // columnas faltantes
+
+        ImportReport report = importService.importStream(stream(csv.toString()), TicketExportFormat.CSV, 0);
+
+        assertEquals("COMPLETED", report.status());
+        assertEquals(1003, report.rowsRead());
+        assertEquals(1000, report.rowsImported());
+        assertEquals(3, report.rowsRejected());
+        assertEquals(1003, report.lastCommittedRow());
+        assertEquals(1000, repository.count());
+
+        List<String> rejects = Files.readAllLines(Path.of(report.rejectsFile()));
+        assertEquals(4, rejects.size());
+        // Errores de formato se rechazan al parsear; los de validación, al confirmar el bloque
+        assertEquals("1001,Valor inválido en 'priority': URGENTE,\",ST-X1,Ana,OPEN,URGENTE,Red,10,USD,,2030-01-01\"", rejects.get(1));
+        assertTrue(rejects.stream().anyMatch(line -> line.startsWith("1002,estimatedCost")));
+
+        // Los tickets históricos conservan su fecha de creación original
+        SupportTicket first = repository.findAll().stream()
+                .filter(ticket -> ticket.getTicketNumber().equals("ST-H1")).findFirst().orElseThrow();
+        assertEquals(LocalDateTime.of(2020, 5, 1, 10, 0), first.getCreatedAt());
+    }
+
+    @Test
+    void importsNdjsonSkippingCommittedRows() {
+        String ndjson = """
+                {"ticketNumber":"ST-N1","requesterName":"Ana","status":"OPEN","priority":"LOW","category":"Red","estimatedCost":1,"currency":"USD","dueDate":"2030-01-01"}
+                {"ticketNumber":"ST-N2","requesterName":"Luis","status":"OPEN","priority":"LOW","category":"Red","estimatedCost":1,"currency":"USD","dueDate":"2030-01-01"}
+                {esto no es json}
+                {"ticketNumber":"ST-N3","requesterName":"Eva","status":"OPEN","priority":"LOW","category":"Red","estimatedCost":1,"currency":"USD","dueDate":"2030-01-01"}
+                """;
+
+        ImportReport report = importService.importStream(stream(ndjson), TicketExportFormat.NDJSON, 1);
+
+        assertEquals(2, report.rowsImported());
+        assertEquals(1, report.rowsRejected());
+        assertEquals(4, report.lastCommittedRow());
+        assertTrue(repository.findAll().stream().noneMatch(ticket -> ticket.getTicketNumber().equals("ST-N1")));
+    }
+
+    @Test
+    void importsLocalFileInBackgroundAndResumes() throws Exception {
+        Files.createDirectories(BASE_DIR);
+        Path file = BASE_DIR.resolve("historico.csv");
+        StringBuilder csv = new StringBuilder(TicketCsv.HEADER).append('\n');
+        for (int i = 1; i <= 250; i++) {
+            csv.append(csvRow(i)).append('\n');
+        }
+        Files.writeString(file, csv.toString());
+
+        ImportReport started = importService.startFileImport("historico.csv", TicketExportFormat.CSV);
+        ImportReport finished = awaitCompletion(started.jobId());
+        assertEquals(250, finished.rowsImported());
+        assertEquals(250, finished.lastCommittedRow());
+
+        // Llegan más filas al archivo: la reanudación solo procesa las nuevas
+        Files.writeString(file, csvRow(251) + "\n" + csvRow(252) + "\n", StandardOpenOption.APPEND);
+        importService.resume(started.jobId());
+        ImportReport resumed = awaitCompletion(started.jobId());
+
+        assertEquals(252, resumed.rowsImported());
+        assertEquals(252, resumed.lastCommittedRow());
+        assertEquals(252, repository.count());
+    }
+
+    @Test
+    void checkpointSurvivesARestartAsInterrupted() {
+        StringBuilder csv = new StringBuilder(TicketCsv.HEADER).append('\n');
+        for (int i = 1; i <= 150; i++) {
+            csv.append(csvRow(i)).append('\n');
+        }
+        ImportReport report = importService.importStream(stream(csv.toString()), TicketExportFormat.CSV, 0);
+
+        ImportCheckpoint checkpoint = checkpoints.findById(report.jobId()).orElseThrow();
+        assertEquals("COMPLETED", checkpoint.getStatus());
+        assertEquals(150, checkpoint.getLastCommittedRow());
+        assertEquals(150, checkpoint.getRowsImported());
+
+        // Un job que seguía RUNNING cuando se detuvo la aplicación (no está en memoria)
+        checkpoint.setJobId(UUID.randomUUID().toString());
+        checkpoint.setStatus("RUNNING");
+        checkpoint.setLastCommittedRow(100);
+        checkpoints.save(checkpoint);
+
+        ImportReport restored = importService.getReport(checkpoint.getJobId());
+        assertEquals("INTERRUPTED", restored.status());
+        assertEquals(100, restored.lastCommittedRow());
+    }
+
+    @Test
+    void chunkAndCheckpointCommitTogether() {
+        List<SupportTicket> tickets = List.of(ticket("Ana"), ticket("Luis"));
+
+        // Si el checkpoint no se puede guardar, los tickets del bloque tampoco quedan
+        assertThrows(IllegalStateException.class, () -> service.importChunk(tickets, indexes -> {
+            throw new IllegalStateException("caída simulada");
+        }));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void rejectsFilesOutsideTheBaseDirectory() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.startFileImport("../../pom.xml", TicketExportFormat.CSV));
+    }
+
+    private ImportReport awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ImportReport report = importService.getReport(jobId);
+            if (!"RUNNING".equals(report.status())) {
+                return report;
+            }
+            Thread.sleep(50);
+        }
+        fail("La importación no terminó a tiempo");
+        return null;
+    }
+
+    private static String csvRow(int i) {
+        return ",ST-H" + i + ",Solicitante " + i + ",CLOSED,LOW,Red,10.50,USD,2020-05-01T10:00,2020-05-10";
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pbenchmark test -Dtest=TicketNumberGeneratorBenchmarkTest
+// JMH con 8 hilos compartiendo un generador: UUID aleatorio (SecureRandom) frente a TSID (CAS)
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class TicketNumberGeneratorBenchmarkTest {
+
+    private final TicketNumberGenerator tsid = new TsidTicketNumberGenerator(1, System::currentTimeMillis);
+
+    @Benchmark
+    public String randomUuid() {
+        return "ST-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String tsid() {
+        return tsid.next();
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TicketNumberGeneratorBenchmarkTest.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+// mvn -Pbenchmark test -Dtest=TicketSearchBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest
+class TicketSearchBenchmarkTest {
+
+    private static final int[] TABLE_SIZES = {10_000, 50_000, 200_000};
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllInBatch();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void searchLatencyAgainstTableSize() {
+        Pageable page = PageRequest.of(0, 10);
+        int inserted = 0;
+        System.out.println("filas     | índice trigramas | solo LIKE");
+        for (int size : TABLE_SIZES) {
+            insert(inserted, size);
+            inserted = size;
+            searchIndex.rebuild();
+
+            // Término selectivo: aparece en ~1 de cada 1000 solicitantes
+            String q = "ramírez 7";
+            long indexed = medianNanos(() -> service.getAll(q, null, null, null, null, null, null, false, page));
+            long likeOnly = medianNanos(() -> repository.findAll(
+                    SupportTicketSpecification.filterBy(q, null, null, null, null, null, null), page));
+            System.out.printf("%-9d | %13.2f ms | %8.2f ms%n", size, indexed / 1e6, likeOnly / 1e6);
+        }
+    }
+
+    private void insert(int from, int to) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            String requester = (i % 1000 == 7 ? "Ramírez " : "Solicitante ") + i;
+            batch.add(new Object[]{"ST-B" + i, requester, "OPEN", "LOW", "Red", 10, "USD",
+                    Timestamp.valueOf(base.plusSeconds(i)), LocalDate.of(2030, 1, 1)});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO support_tickets
+                (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date)
+                VALUES (NEXT VALUE FOR support_tickets_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?)""", batch);
+    }
+
+    private static long medianNanos(Supplier<?> call) {
+        for (int i = 0; i < 50; i++) {
+            call.get();
+        }
+        long[] samples = new long[31];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            call.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.dto.SupportTicketView;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TicketSearchIndexTest {
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void followsCreateUpdateAndDelete() {
+        SupportTicket ana = service.create(ticket("Ana Torres"));
+        SupportTicket luis = service.create(ticket("Luis Andrade"));
+
+        assertEquals(Optional.of(Set.of(ana.getId())), searchIndex.candidates("torres"));
+        assertEquals(List.of(luis.getId()), ids(service.getAll("andrade", null, null, null, null, null, null, false, PageRequest.of(0, 10)).getContent()));
+
+        SupportTicket change = ticket("Ana Paredes");
+        service.update(ana.getId(), change);
+        assertEquals(Optional.of(Set.of()), searchIndex.candidates("torres"));
+        assertEquals(Optional.of(Set.of(ana.getId())), searchIndex.candidates("paredes"));
+
+        service.delete(luis.getId());
+        assertEquals(Optional.of(Set.of()), searchIndex.candidates("andrade"));
+        assertTrue(service.getAll("andrade", null, null, null, null, null, null, false, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void matchesTicketNumberIgnoringCaseAndAccents() {
+        SupportTicket ticket = ticket("José Núñez");
+        ticket.setTicketNumber("ST-ABC123");
+        SupportTicket saved = service.create(ticket);
+
+        assertEquals(Optional.of(Set.of(saved.getId())), searchIndex.candidates("abc1"));
+        assertEquals(Optional.of(Set.of(saved.getId())), searchIndex.candidates("NUNEZ"));
+    }
+
+    @Test
+    void shortQueriesFallBackToLike() {
+        service.create(ticket("Ana"));
+
+        assertTrue(searchIndex.candidates("an").isEmpty());
+        assertEquals(1, service.getAll("an", null, null, null, null, null, null, false, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void likeWildcardsInTheQueryAreMatchedLiterally() {
+        SupportTicket underscore = service.create(ticket("Ana_Torres"));
+        service.create(ticket("Luis Andrade"));
+        service.create(ticket("Eva!Ruiz"));
+
+        // Consultas cortas: el índice no acota y todo lo decide el LIKE
+        assertEquals(List.of(underscore.getId()), ids(service.getAll("_", null, null, null, null, null, null, false, PageRequest.of(0, 10)).getContent()));
+        assertTrue(service.getAll("%", null, null, null, null, null, null, false, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, service.getAll("!", null, null, null, null, null, null, false, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void rebuildPicksUpRowsWrittenOutsideTheService() {
+        SupportTicket saved = repository.save(ticket("Carga Externa"));
+        assertEquals(Optional.of(Set.of()), searchIndex.candidates("externa"));
+
+        searchIndex.rebuild();
+
+        assertEquals(Optional.of(Set.of(saved.getId())), searchIndex.candidates("externa"));
+    }
+
+    private static List<Long> ids(List<SupportTicketView> tickets) {
+        return tickets.stream().map(SupportTicketView::id).toList();
+    }
+}
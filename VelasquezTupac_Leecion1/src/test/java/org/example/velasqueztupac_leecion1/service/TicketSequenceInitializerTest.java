@@ -0,0 +1,77 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.ArchivedSupportTicketRepository;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.velasqueztupac_leecion1.TestTickets.ticket;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TicketSequenceInitializerTest {
+
+    private static final long ACTIVE_ID = 4_000_000L;
+    private static final long ARCHIVED_ID = 5_000_000L;
+
+    @Autowired
+    private TicketSequenceInitializer initializer;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private ArchivedSupportTicketRepository archiveRepository;
+
+    @Autowired
+    private TicketArchiver archiver;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void reset() {
+        repository.deleteAll();
+        archiveRepository.deleteAll();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void newTicketsNeverReuseIdsFromBeforeTheSequence() {
+        // Simula una base anterior: IDs altos en la tabla activa y en el archivo, puestos por fuera de Hibernate
+        long archived = repository.save(ticket("Archivo Antiguo", TicketStatus.CLOSED)).getId();
+        jdbcTemplate.update("UPDATE support_tickets SET id = ?, created_at = ? WHERE id = ?",
+                ARCHIVED_ID, LocalDateTime.of(2020, 1, 1, 0, 0), archived);
+        assertEquals(1, archiver.archive(LocalDateTime.of(2021, 1, 1, 0, 0)));
+        long active = repository.save(ticket("Activo Antiguo")).getId();
+        jdbcTemplate.update("UPDATE support_tickets SET id = ? WHERE id = ?", ACTIVE_ID, active);
+
+        initializer.align();
+        initializer.align();
+
+        // Más de un bloque de la secuencia: agota lo que Hibernate tuviera reservado y pide valores nuevos
+        List<SupportTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < TicketSequenceInitializer.ALLOCATION_SIZE + 10; i++) {
+            tickets.add(ticket("Nuevo " + i));
+        }
+        List<Long> ids = repository.saveAll(tickets).stream().map(SupportTicket::getId).toList();
+
+        assertFalse(ids.contains(ACTIVE_ID));
+        assertFalse(ids.contains(ARCHIVED_ID));
+        assertTrue(ids.get(ids.size() - 1) > ARCHIVED_ID);
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.example.velasqueztupac_leecion1.TestTickets;
+import org.example.velasqueztupac_leecion1.dto.SupportTicketPatch;
+import org.example.velasqueztupac_leecion1.dto.TicketCostStats;
+import org.example.velasqueztupac_leecion1.dto.TicketStats;
+import org.example.velasqueztupac_leecion1.model.Currency;
+import org.example.velasqueztupac_leecion1.model.Priority;
+import org.example.velasqueztupac_leecion1.model.SupportTicket;
+import org.example.velasqueztupac_leecion1.model.TicketStatus;
+import org.example.velasqueztupac_leecion1.repository.SupportTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketStatisticsTest {
+
+    @Autowired
+    private TicketStatistics statistics;
+
+    @Autowired
+    private SupportTicketService service;
+
+    @Autowired
+    private SupportTicketRepository repository;
+
+    @Autowired
+    private TicketSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @BeforeEach
+    void reset() {
+        repository.deleteAll();
+        searchIndex.rebuild();
+        statistics.reconcile();
+    }
+
+    @Test
+    void countersFollowCreatesUpdatesPatchesAndDeletes() {
+        SupportTicket a = service.create(ticket("Ana", TicketStatus.OPEN, Priority.HIGH, Currency.USD, "Red", "10.50"));
+        SupportTicket b = service.create(ticket("Luis", TicketStatus.OPEN, Priority.LOW, Currency.EUR, "Hardware", "99.99"));
+        SupportTicket c = service.create(ticket("Eva", TicketStatus.IN_PROGRESS, Priority.LOW, Currency.USD, "Red", "4.50"));
+
+        service.patch(a.getId(), new SupportTicketPatch(0L, null, TicketStatus.RESOLVED, null, null, new BigDecimal("20.00"), null, null));
+        service.update(b.getId(), ticket("Luis", TicketStatus.CLOSED, Priority.CRITICAL, Currency.USD, "Red", "1.00"));
+        service.delete(c.getId());
+
+        TicketStats stats = statistics.stats(null, null);
+
+        assertEquals(2, stats.total());
+        assertEquals(1L, stats.byStatusAndPriority().get(TicketStatus.RESOLVED).get(Priority.HIGH));
+        assertEquals(1L, stats.byStatusAndPriority().get(TicketStatus.CLOSED).get(Priority.CRITICAL));
+        assertEquals(0L, stats.byStatusAndPriority().get(TicketStatus.OPEN).get(Priority.LOW));
+        assertEquals(groupByFromDatabase(), costs(stats));
+        TicketCostStats usdRed = stats.costs().get(0);
+        assertEquals(new BigDecimal("21.00"), usdRed.sum());
+        assertEquals(new BigDecimal("10.50"), usdRed.average());
+    }
+
+    @Test
+    void reconciliationPicksUpWritesMadeOutsideTheServiceAndFiltersByDay() {
+        insert(LocalDateTime.of(2024, 3, 1, 9, 0), "OPEN", "15.00");
+        insert(LocalDateTime.of(2024, 3, 2, 23, 59), "OPEN", "5.00");
+        insert(LocalDateTime.of(2024, 4, 1, 0, 0), "CLOSED", "100.00");
+        assertEquals(0, statistics.stats(null, null).total());
+
+        statistics.reconcile();
+
+        assertEquals(3, statistics.stats(null, null).total());
+        TicketStats march = statistics.stats(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        assertEquals(2, march.total());
+        assertEquals(new BigDecimal("20.00"), march.costs().get(0).sum());
+        assertEquals(2, statistics.stats(LocalDate.of(2024, 3, 2), null).total());
+        assertEquals(1, statistics.stats(null, LocalDate.of(2024, 3, 1)).total());
+    }
+
+    @Test
+    void concurrentPatchesToDifferentFieldsOfOneTicketBothCount() {
+        SupportTicket saved = service.create(ticket("Ana", TicketStatus.OPEN, Priority.LOW, Currency.USD, "Red", "10.00"));
+        CyclicBarrier together = new CyclicBarrier(2);
+
+        for (int round = 0; round < 500; round++) {
+            TicketStatus status = round % 2 == 0 ? TicketStatus.CLOSED : TicketStatus.OPEN;
+            Priority priority = round % 2 == 0 ? Priority.HIGH : Priority.LOW;
+            SupportTicket statusOnly = new SupportTicket();
+            statusOnly.setStatus(status);
+            SupportTicket priorityOnly = new SupportTicket();
+            priorityOnly.setPriority(priority);
+
+            // Dos PATCH del mismo ticket a la vez, cada uno con un solo campo
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> patched(together, saved.getId(), statusOnly)),
+                    CompletableFuture.runAsync(() -> patched(together, saved.getId(), priorityOnly))
+            ).join();
+
+            TicketStats stats = statistics.stats(null, null);
+            assertEquals(1, stats.total());
+            assertEquals(1L, stats.byStatusAndPriority().get(status).get(priority), "ronda " + round);
+        }
+    }
+
+    @Test
+    void exposesTheStatsEndpoint() throws Exception {
+        service.create(ticket("Ana", TicketStatus.OPEN, Priority.HIGH, Currency.USD, "Red", "10.00"));
+        String today = LocalDate.now().toString();
+
+        mvc.perform(get("/api/v1/support-tickets/stats?from=" + today + "&to=" + today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatusAndPriority.OPEN.HIGH").value(1))
+                .andExpect(jsonPath("$.costs[0].currency").value("USD"))
+                .andExpect(jsonPath("$.costs[0].average").value(10.0));
+        mvc.perform(get("/api/v1/support-tickets/stats?from=2025-02-01&to=2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void patched(CyclicBarrier together, Long id, SupportTicket changes) {
+        try {
+            together.await();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        statistics.onTicketChanged(new TicketChangedEvent(TicketChangedEvent.Type.UPDATED, id, changes));
+    }
+
+    // Lo que devolvería el GROUP BY que estas estadísticas evitan
+    private Map<String, BigDecimal> groupByFromDatabase() {
+        Map<String, BigDecimal> sums = new HashMap<>();
+        jdbcTemplate.query("SELECT currency, category, SUM(estimated_cost) FROM support_tickets GROUP BY currency, category",
+                rs -> {
+                    sums.put(rs.getString(1) + "/" + rs.getString(2), rs.getBigDecimal(3));
+                });
+        return sums;
+    }
+
+    private static Map<String, BigDecimal> costs(TicketStats stats) {
+        Map<String, BigDecimal> sums = new HashMap<>();
+        stats.costs().forEach(cost -> sums.put(cost.currency() + "/" + cost.category(), cost.sum()));
+        return sums;
+    }
+
+    private void insert(LocalDateTime createdAt, String status, String cost) {
+        jdbcTemplate.update("""
+                INSERT INTO support_tickets
+                (id, ticket_number, requester_name, status, priority, category, estimated_cost, currency, created_at, due_date, version)
+                VALUES (NEXT VALUE FOR support_tickets_seq, ?, 'Histórico', ?, 'MEDIUM', 'Red', ?, 'USD', ?, ?, 0)""",
+                "ST-H" + createdAt, status, new BigDecimal(cost), Timestamp.valueOf(createdAt), LocalDate.of(2030, 1, 1));
+    }
+
+    private static SupportTicket ticket(String requester, TicketStatus status, Priority priority,
+                                        Currency currency, String category, String cost) {
+        SupportTicket ticket = TestTickets.ticket(requester, status);
+        ticket.setPriority(priority);
+        ticket.setCategory(category);
+        ticket.setEstimatedCost(new BigDecimal(cost));
+        ticket.setCurrency(currency);
+        return ticket;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.velasqueztupac_leecion1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsidTicketNumberGeneratorTest {
+
+    private static final long NOW = TsidTicketNumberGenerator.EPOCH + 86_400_000L;
+
+    @Test
+    void numbersAreUniqueAcrossSimulatedNodesAndThreads() throws InterruptedException {
+        int nodes = 8;
+        int threadsPerNode = 4;
+        int perThread = 25_000;
+        // Reloj casi congelado: fuerza el agotamiento de la secuencia dentro del mismo milisegundo
+        AtomicLong ticks = new AtomicLong();
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int node = 0; node < nodes; node++) {
+            TsidTicketNumberGenerator generator = new TsidTicketNumberGenerator(node, () -> NOW + ticks.incrementAndGet() / 10_000);
+            for (int t = 0; t < threadsPerNode; t++) {
+                Thread thread = new Thread(() -> {
+                    awaitQuietly(start);
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(generator.next());
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(nodes * threadsPerNode * perThread, seen.size());
+    }
+
+    @Test
+    void numbersGrowWithinANodeEvenIfTheClockGoesBack() {
+        long[] clock = {NOW};
+        TsidTicketNumberGenerator generator = new TsidTicketNumberGenerator(7, () -> clock[0]);
+
+        String previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            // Retrocesos de reloj (NTP) y más de 4096 números por milisegundo
+            clock[0] = i % 100 == 0 ? NOW - 5 : NOW + i / 5_000;
+            String next = generator.next();
+            assertTrue(next.compareTo(previous) > 0, next + " debería ser mayor que " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void encodesAsShortReadableText() {
+        TsidTicketNumberGenerator generator = new TsidTicketNumberGenerator(1023, () -> NOW);
+
+        String number = generator.next();
+
+        assertTrue(number.matches("ST-[0-9A-HJKMNP-TV-Z]{13}"), number);
+        assertEquals("ST-0000000000000", TsidTicketNumberGenerator.encode(0));
+        assertEquals("ST-7ZZZZZZZZZZZZ", TsidTicketNumberGenerator.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TsidTicketNumberGenerator(1024, () -> NOW));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
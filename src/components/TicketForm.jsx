@@ -57,7 +57,7 @@ const TicketForm = ({ onTicketCreated }) => {
                 position: "top-center" 
             });
             
-            onTicketCreated(); 
+            onTicketCreated?.(); 
             
             // Limpia el formulario
             setFormData({
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import axios from 'axios';
 import TicketForm from './TicketForm'; 
 import { toast } from 'react-toastify'; // <-- IMPORTANTE: Importar toast
@@ -36,11 +36,26 @@ const TicketList = () => {
     const [editingId, setEditingId] = useState(null);
     const [editData, setEditData] = useState({});
 
+    // Estado para el feed de cambios (los listeners de EventSource solo ven refs actualizadas)
+    const ticketsRef = useRef([]);
+    const loadSeqRef = useRef(0);          // Número de la última carga de la lista pedida
+    const listLoadingRef = useRef(false);  // Hay una carga de la lista en curso
+    const pendingChangesRef = useRef([]);  // Cambios recibidos durante esa carga
+
+    useEffect(() => {
+        ticketsRef.current = tickets;
+    }, [tickets]);
+
     // FUNCIÓN: Obtener Tickets
+    // Los cambios del feed que llegan mientras tanto se guardan y se aplican sobre la respuesta:
+    // así no los pisa una lista leída antes de ellos (aplicar de nuevo uno ya incluido no la altera)
     const fetchTickets = async () => {
+        const load = ++loadSeqRef.current;
+        listLoadingRef.current = true;
         try {
             setLoading(true);
             const response = await axios.get(`${API_BASE_URL}?page=0&size=10&sort=createdAt,desc`);
+            if (load !== loadSeqRef.current) return; // Una carga más reciente la reemplaza
             setTickets(response.data.content);
             // Ya no es necesario setError(null);
             
@@ -50,14 +65,62 @@ const TicketList = () => {
             }
             
         } catch (err) {
+            if (load !== loadSeqRef.current) return;
             console.error("Error al cargar los tickets:", err.response?.data || err);
             // Mostrar toast de error en lugar de cambiar un estado de error
             toast.error("ERROR de conexión: No se pudo cargar la lista de tickets.", { autoClose: false });
         } finally {
-            setLoading(false);
+            if (load === loadSeqRef.current) {
+                listLoadingRef.current = false;
+                const pending = pendingChangesRef.current;
+                pendingChangesRef.current = [];
+                pending.forEach(applyChange);
+                setLoading(false);
+                // Un borrado durante la carga pudo dejar la página incompleta
+                if (pending.some(change => change.type === 'DELETED')) {
+                    fetchTickets();
+                }
+            }
         }
     };
     
+    // FUNCIÓN: Aplicar un cambio recibido del feed (/changes/stream) sin volver a consultar la lista
+    const applyChange = (change) => {
+        setTickets(prev => {
+            switch (change.type) {
+                case 'CREATED':
+                    if (prev.some(t => t.id === change.id)) return prev;
+                    // La lista muestra los 10 más recientes: el nuevo va arriba
+                    return [change.ticket, ...prev].slice(0, 10);
+                case 'UPDATED': {
+                    // Un PATCH solo trae los campos modificados (el resto llega en null)
+                    const fields = Object.fromEntries(
+                        Object.entries(change.ticket || {}).filter(([, value]) => value !== null)
+                    );
+                    return prev.map(t => t.id === change.id ? { ...t, ...fields } : t);
+                }
+                case 'DELETED':
+                    return prev.filter(t => t.id !== change.id);
+                default:
+                    return prev;
+            }
+        });
+    };
+
+    // FUNCIÓN: Recibir un cambio del feed
+    const handleChange = (change) => {
+        if (listLoadingRef.current) {
+            pendingChangesRef.current.push(change);
+            return;
+        }
+        const wasVisible = ticketsRef.current.some(t => t.id === change.id);
+        applyChange(change);
+        // Se muestran los 10 más recientes: si se borró uno visible, se recarga para completar la página
+        if (change.type === 'DELETED' && wasVisible) {
+            fetchTickets();
+        }
+    };
+
     // FUNCIÓN: Eliminar Ticket
     const handleDelete = async (id) => {
         if (!window.confirm(`¿Estás seguro de que quieres eliminar el ticket con ID ${id}?`)) {
@@ -71,8 +134,7 @@ const TicketList = () => {
             // Éxito: Mostrar toast
             toast.success(`Ticket #${id} eliminado con éxito.`, { position: "bottom-right" });
             
-            // Recargamos la lista después de la eliminación exitosa
-            fetchTickets(); 
+            // La fila desaparece al llegar el evento DELETED del feed
             
         } catch (error) {
             console.error("Error al eliminar el ticket:", error.response?.data || error);
@@ -123,9 +185,8 @@ const TicketList = () => {
             // Éxito: Mostrar toast
             toast.success(`Ticket #${id} actualizado con éxito.`, { position: "bottom-right" });
             
-            // Finaliza la edición y recarga la lista
+            // Finaliza la edición; los nuevos valores llegan por el feed
             setEditingId(null);
-            fetchTickets(); 
             
         } catch (error) {
             console.error("Error al actualizar el ticket:", error.response?.data || error);
@@ -142,7 +203,34 @@ const TicketList = () => {
     };
 
     useEffect(() => {
-        fetchTickets();
+        let source = null;
+        let closed = false;
+
+        // Protocolo de TicketChangeController: 1) secuencia actual, 2) lista, 3) stream desde esa
+        // secuencia. Ningún cambio posterior a la lista se pierde; los que se repitan no la alteran
+        const subscribe = async () => {
+            let latest = null;
+            try {
+                const response = await axios.get(`${API_BASE_URL}/changes`);
+                latest = response.data.latest;
+            } catch (err) {
+                console.error("Error al consultar el feed de cambios:", err.response?.data || err);
+            }
+            await fetchTickets();
+            if (closed) return;
+
+            // El navegador reconecta solo y reenvía Last-Event-ID, que el servidor prefiere a 'since'
+            source = new EventSource(`${API_BASE_URL}/changes/stream${latest !== null ? `?since=${latest}` : ''}`);
+            source.addEventListener('change', (e) => handleChange(JSON.parse(e.data)));
+            // El buffer del servidor ya no tiene lo que nos falta: recarga completa
+            source.addEventListener('resync', () => fetchTickets());
+        };
+        subscribe();
+
+        return () => {
+            closed = true;
+            if (source) source.close();
+        };
     }, []);
 
     // El loading y el error ahora se muestran en pantalla globalmente (aunque el loading local es mejor)
@@ -154,7 +242,7 @@ const TicketList = () => {
     return (
         <div style={{ padding: '20px', backgroundColor: DARK_BG, minHeight: '100vh', color: TEXT_COLOR }}>
             
-            <TicketForm onTicketCreated={fetchTickets} /> 
+            <TicketForm /> 
             
             <h2 style={{ color: KICK_GREEN, borderBottom: `2px solid ${KICK_GREEN}`, paddingBottom: '10px', marginTop: '30px' }}>
                 Listado de Tickets ({tickets.length} encontrados)